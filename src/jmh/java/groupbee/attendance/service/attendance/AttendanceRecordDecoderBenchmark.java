@@ -0,0 +1,108 @@
+package groupbee.attendance.service.attendance;
+
+import groupbee.attendance.dto.AttendanceDto;
+import groupbee.attendance.service.odoo.AttendanceRecordDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * XML-RPC search_read 결과(Object[] of Map) 를 AttendanceDto 로 바꾸는 경로의 처리량과 할당량 측정.
+ * ./gradlew jmh 로 실행하며 gc 프로파일러가 켜져 있어 gc.alloc.rate.norm 으로 레코드당 할당량을 볼 수 있다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AttendanceRecordDecoderBenchmark {
+    private static final DateTimeFormatter ODOO_DATETIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Param({"10", "1000", "100000"})
+    private int recordCount;
+
+    private final LegacyAttendanceRecordMapper legacy = new LegacyAttendanceRecordMapper();
+    private final AttendanceRecordDecoder decoder = new AttendanceRecordDecoder();
+    private Object[] records;
+    private LocalDateTime checkInKst;
+
+    @Setup
+    public void setUp() {
+        // Odoo 가 돌려주는 형태 그대로: 퇴근 기록이 없으면 check_out 은 false
+        records = new Object[recordCount];
+        LocalDateTime base = LocalDateTime.of(2020, 1, 1, 0, 0, 0);
+        for (int i = 0; i < recordCount; i++) {
+            LocalDateTime checkIn = base.plusHours(i * 24L).plusMinutes(i % 60);
+            Map<String, Object> record = new HashMap<>();
+            record.put("id", i + 1);
+            record.put("check_in", checkIn.format(ODOO_DATETIME));
+            if (i % 10 == 0) {
+                record.put("check_out", Boolean.FALSE);
+                record.put("worked_hours", 0.0);
+            } else {
+                record.put("check_out", checkIn.plusHours(9).plusSeconds(i % 60).format(ODOO_DATETIME));
+                record.put("worked_hours", 9.0 + (i % 60) / 3600.0);
+            }
+            records[i] = record;
+        }
+        checkInKst = LocalDateTime.of(2024, 10, 18, 9, 0, 0);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void legacyListRecords(Blackhole blackhole) {
+        for (Object record : records) {
+            AttendanceDto dto = legacy.toUtcDto((Map<String, Object>) record, 1);
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void decodeListRecords(Blackhole blackhole) {
+        for (Object record : records) {
+            AttendanceDto dto = decoder.decodeUtc((Map<String, Object>) record, 1);
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void legacyTodayRecords(Blackhole blackhole) {
+        for (Object record : records) {
+            AttendanceDto dto = legacy.toKstDto((Map<String, Object>) record, 1);
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void decodeTodayRecords(Blackhole blackhole) {
+        for (Object record : records) {
+            AttendanceDto dto = decoder.decodeKst((Map<String, Object>) record, 1);
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String legacyFormatCheckIn() {
+        return legacy.toOdooUtc(checkInKst);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String decoderFormatCheckIn() {
+        return decoder.toOdooUtc(checkInKst);
+    }
+}
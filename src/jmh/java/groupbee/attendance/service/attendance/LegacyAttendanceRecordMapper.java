@@ -0,0 +1,79 @@
+package groupbee.attendance.service.attendance;
+
+import groupbee.attendance.dto.AttendanceDto;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * AttendanceRecordDecoder 도입 전의 변환 코드. 벤치마크 비교 기준으로만 남겨 둔다.
+ */
+public class LegacyAttendanceRecordMapper {
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final ZoneId UTC = ZoneId.of("UTC");
+    private static final DateTimeFormatter ODOO_DATETIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // search_read 결과 한 건을 AttendanceDto 로 변환 (시간은 Odoo 의 UTC 값 그대로)
+    public AttendanceDto toUtcDto(Map<String, Object> attendanceMap, int employeeId) {
+        AttendanceDto dto = new AttendanceDto();
+        dto.setId((int) attendanceMap.get("id"));
+        dto.setEmployeeId(employeeId);
+
+        Object checkIn = attendanceMap.get("check_in");
+        if (checkIn instanceof String) {
+            dto.setCheckIn(Timestamp.valueOf((String) attendanceMap.get("check_in")));
+        } else {
+            dto.setCheckIn(null);
+        }
+
+        Object checkOut = attendanceMap.get("check_out");
+        if (checkOut instanceof String) {
+            dto.setCheckOut(Timestamp.valueOf((String) attendanceMap.get("check_out")));
+        } else {
+            dto.setCheckOut(null);
+        }
+
+        Object workedHours = attendanceMap.get("worked_hours");
+        if (workedHours != null) {
+            dto.setWorkHours((double) workedHours);
+        } else {
+            dto.setWorkHours(0.0); // 또는 적절한 기본값으로 설정
+        }
+        return dto;
+    }
+
+    // search_read 결과 한 건을 출퇴근 시간을 KST 로 바꾼 AttendanceDto 로 변환
+    public AttendanceDto toKstDto(Map<String, Object> attendanceMap, int employeeId) {
+        AttendanceDto dto = new AttendanceDto();
+        dto.setId((int) attendanceMap.get("id"));
+        dto.setEmployeeId(employeeId);
+
+        // 출근 시간 (UTC -> KST 변환)
+        Timestamp checkInUtc = Timestamp.valueOf((String) attendanceMap.get("check_in"));
+        dto.setCheckIn(Timestamp.valueOf(convertUtcToKst(checkInUtc)));
+
+        // 퇴근 시간 (UTC -> KST 변환), 퇴근 기록이 있을 경우
+        if (attendanceMap.get("check_out") instanceof String) {
+            Timestamp checkOutUtc = Timestamp.valueOf((String) attendanceMap.get("check_out"));
+            dto.setCheckOut(Timestamp.valueOf(convertUtcToKst(checkOutUtc)));
+        } else {
+            dto.setCheckOut(null); // 퇴근 기록이 없을 경우
+        }
+        return dto;
+    }
+
+    public LocalDateTime convertUtcToKst(Timestamp utcTime) {
+        ZonedDateTime utcZonedDateTime = utcTime.toInstant().atZone(ZoneId.of("UTC"));
+        ZonedDateTime kstZonedDateTime = utcZonedDateTime.withZoneSameInstant(ZoneId.of("Asia/Seoul"));
+        return kstZonedDateTime.toLocalDateTime();
+    }
+
+    // KST 기준 시각을 Odoo 가 저장하는 UTC 문자열로 변환
+    public String toOdooUtc(LocalDateTime kstDateTime) {
+        return kstDateTime.atZone(KST).withZoneSameInstant(UTC).format(ODOO_DATETIME);
+    }
+}
@@ -0,0 +1,86 @@
+package groupbee.attendance.service.odoo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import groupbee.attendance.config.OdooConfig;
+import groupbee.attendance.config.OdooProperties;
+import groupbee.attendance.dto.AttendanceDto;
+import groupbee.attendance.stub.OdooStubServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로컬 스텁 서버를 상대로 같은 hr.attendance search_read 를 XML-RPC 와 JSON-RPC 로 보내 비교한다.
+ * 네트워크 지연 없이 직렬화/파싱 비용과 gc.alloc.rate.norm 차이를 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OdooTransportBenchmark {
+    @Param({"100", "1000", "10000"})
+    private int limit;
+
+    private OdooStubServer stub;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private OdooGateway xmlRpc;
+    private OdooGateway jsonRpc;
+    private OdooQuery query;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        stub = new OdooStubServer(0, 10, 10000, 0);
+
+        OdooProperties properties = new OdooProperties();
+        properties.setUrl(stub.getUrl());
+        properties.setDb("stub");
+        properties.setUid(2);
+        properties.setPassword("stub");
+
+        OdooConfig config = new OdooConfig();
+        connectionManager = config.odooConnectionManager(properties);
+        httpClient = config.odooHttpClient(connectionManager, properties);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        OdooBulkhead bulkhead = new OdooBulkhead(properties, registry);
+        AttendanceRecordDecoder decoder = new AttendanceRecordDecoder();
+
+        xmlRpc = new XmlRpcOdooGateway(config.odooXmlRpcClient(httpClient, properties), decoder,
+                properties, bulkhead, registry);
+        jsonRpc = new JsonRpcOdooGateway(httpClient, decoder, new ObjectMapper(), properties, bulkhead, registry);
+        query = OdooQuery.builder()
+                .order("check_in desc, id desc")
+                .limit(limit)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        httpClient.close();
+        connectionManager.close();
+        stub.close();
+    }
+
+    @Benchmark
+    public List<AttendanceDto> xmlRpcSearchReadAttendance() throws OdooException {
+        return xmlRpc.searchReadAttendance(query, null, AttendanceRecordDecoder.Clock.UTC);
+    }
+
+    @Benchmark
+    public List<AttendanceDto> jsonRpcSearchReadAttendance() throws OdooException {
+        return jsonRpc.searchReadAttendance(query, null, AttendanceRecordDecoder.Clock.UTC);
+    }
+}
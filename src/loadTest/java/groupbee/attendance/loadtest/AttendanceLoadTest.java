@@ -0,0 +1,259 @@
+package groupbee.attendance.loadtest;
+
+import groupbee.attendance.GroupBeeAttendanceApplication;
+import groupbee.attendance.stub.OdooStubServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Odoo 스텁과 employee 서비스 스텁을 띄우고 그 위에 서비스를 실행한 뒤,
+ * /list, /todayCheckIn, /checkin, /checkout 을 지정한 동시성으로 호출해 처리량과 p50/p99 응답 시간을 출력한다.
+ *
+ * ./gradlew loadTest -PloadTestArgs="--concurrency=64 --duration=60s --odoo-latency-ms=5 --transport=jsonrpc"
+ *
+ * 하네스 옵션이 아닌 --key=value 는 그대로 서비스 설정으로 넘긴다 (예: --read-model.enabled=true).
+ * 각 작업 스레드는 직원 하나를 맡아 출근과 퇴근을 번갈아 보낸다.
+ */
+public class AttendanceLoadTest {
+    private static final String SESSION_COOKIE = "SESSION";
+    private static final Set<String> HARNESS_OPTIONS = Set.of(
+            "concurrency", "duration", "warmup", "employees", "records",
+            "odoo-latency-ms", "hr-latency-ms", "transport", "mix");
+
+    enum Endpoint {
+        LIST, TODAY, CHECK_IN, CHECK_OUT
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            if (HARNESS_OPTIONS.contains(pair[0])) {
+                options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+            } else {
+                appArgs.add(arg);
+            }
+        }
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "32"));
+        Duration duration = parseDuration(options.getOrDefault("duration", "30s"));
+        Duration warmup = parseDuration(options.getOrDefault("warmup", "10s"));
+        int employees = Integer.parseInt(options.getOrDefault("employees", "200"));
+        int records = Integer.parseInt(options.getOrDefault("records", "100000"));
+        long odooLatency = Long.parseLong(options.getOrDefault("odoo-latency-ms", "5"));
+        long hrLatency = Long.parseLong(options.getOrDefault("hr-latency-ms", "2"));
+        String transport = options.getOrDefault("transport", "xmlrpc");
+        Mix mix = Mix.parse(options.getOrDefault("mix", "list:4,today:4,punch:2"));
+        if (employees < concurrency) {
+            System.out.println("경고: employees < concurrency 이면 같은 직원을 여러 스레드가 맡아 퇴근이 400 으로 실패할 수 있습니다.");
+        }
+
+        try (OdooStubServer odoo = new OdooStubServer(0, employees, records, odooLatency);
+             HrStubServer hr = new HrStubServer(0, SESSION_COOKIE, hrLatency)) {
+            List<String> springArgs = new ArrayList<>(List.of(
+                    "--server.port=0",
+                    "--odoo.url=" + odoo.getUrl(),
+                    "--odoo.db=stub",
+                    "--odoo.uid=2",
+                    "--odoo.password=stub",
+                    "--odoo.transport=" + transport,
+                    "--FEIGN_BASE_URL=" + hr.getUrl(),
+                    "--hr-cache.session-cookie=" + SESSION_COOKIE
+            ));
+            springArgs.addAll(appArgs);
+
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(GroupBeeAttendanceApplication.class)
+                    .run(springArgs.toArray(String[]::new))) {
+                int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                String baseUrl = "http://localhost:" + port + "/api/attendance/";
+
+                System.out.printf("load test: concurrency=%d warmup=%s duration=%s employees=%d records=%d " +
+                                "odoo-latency=%dms hr-latency=%dms transport=%s mix=%s extra=%s%n",
+                        concurrency, warmup, duration, employees, records, odooLatency, hrLatency, transport, mix, appArgs);
+
+                Map<Endpoint, LatencyRecorder> results = run(baseUrl, concurrency, warmup, duration, employees, mix);
+                report(results, duration);
+            }
+        }
+    }
+
+    private static Map<Endpoint, LatencyRecorder> run(String baseUrl, int concurrency, Duration warmup, Duration duration,
+                                                      int employees, Mix mix) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        List<Worker> workers = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Worker worker = new Worker(client, baseUrl, (i % employees) + 1, mix, measureFrom, end);
+            workers.add(worker);
+            Thread thread = new Thread(() -> {
+                try {
+                    worker.run();
+                } finally {
+                    done.countDown();
+                }
+            }, "load-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        Map<Endpoint, LatencyRecorder> merged = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            LatencyRecorder total = new LatencyRecorder();
+            for (Worker worker : workers) {
+                total.merge(worker.recorders.get(endpoint));
+            }
+            total.sort();
+            merged.put(endpoint, total);
+        }
+        return merged;
+    }
+
+    private static void report(Map<Endpoint, LatencyRecorder> results, Duration duration) {
+        double seconds = duration.toNanos() / 1e9;
+        System.out.printf("%n%-10s %10s %8s %10s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        LatencyRecorder all = new LatencyRecorder();
+        for (Map.Entry<Endpoint, LatencyRecorder> entry : results.entrySet()) {
+            print(entry.getKey().name().toLowerCase(Locale.ROOT), entry.getValue(), seconds);
+            all.merge(entry.getValue());
+        }
+        all.sort();
+        print("total", all, seconds);
+    }
+
+    private static void print(String name, LatencyRecorder recorder, double seconds) {
+        System.out.printf("%-10s %10d %8d %10.1f %9.2f %9.2f %9.2f%n", name, recorder.count(), recorder.errors(),
+                recorder.count() / seconds, recorder.percentileMillis(50), recorder.percentileMillis(99),
+                recorder.percentileMillis(100));
+    }
+
+    // "30s", "2m", "500ms" 또는 초 단위 숫자
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    /** 요청 비율. punch 는 출근과 퇴근을 번갈아 보낸다. */
+    record Mix(int list, int today, int punch) {
+        static Mix parse(String value) {
+            Map<String, Integer> weights = new HashMap<>();
+            for (String part : value.split(",")) {
+                String[] pair = part.trim().split(":", 2);
+                weights.put(pair[0], Integer.parseInt(pair[1]));
+            }
+            Mix mix = new Mix(weights.getOrDefault("list", 0), weights.getOrDefault("today", 0), weights.getOrDefault("punch", 0));
+            if (mix.total() <= 0) {
+                throw new IllegalArgumentException("mix 에 양수 비율이 하나 이상 있어야 합니다: " + value);
+            }
+            return mix;
+        }
+
+        int total() {
+            return list + today + punch;
+        }
+
+        @Override
+        public String toString() {
+            return "list:" + list + ",today:" + today + ",punch:" + punch;
+        }
+    }
+
+    private static final class Worker {
+        private final HttpClient client;
+        private final String baseUrl;
+        private final String cookie;
+        private final Mix mix;
+        private final long measureFrom;
+        private final long end;
+        private final Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+        private boolean checkedIn;
+
+        private Worker(HttpClient client, String baseUrl, int employeeId, Mix mix, long measureFrom, long end) {
+            this.client = client;
+            this.baseUrl = baseUrl;
+            this.cookie = SESSION_COOKIE + "=" + HrStubServer.SESSION_PREFIX + employeeId;
+            this.mix = mix;
+            this.measureFrom = measureFrom;
+            this.end = end;
+            for (Endpoint endpoint : Endpoint.values()) {
+                recorders.put(endpoint, new LatencyRecorder());
+            }
+        }
+
+        void run() {
+            while (System.nanoTime() < end) {
+                Endpoint endpoint = next();
+                long start = System.nanoTime();
+                boolean ok;
+                try {
+                    HttpResponse<Void> response = client.send(request(endpoint), HttpResponse.BodyHandlers.discarding());
+                    ok = response.statusCode() / 100 == 2;
+                } catch (IOException e) {
+                    ok = false;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (start >= measureFrom) {
+                    recorders.get(endpoint).record((System.nanoTime() - start) / 1000, ok);
+                }
+                if (ok && endpoint == Endpoint.CHECK_IN) {
+                    checkedIn = true;
+                } else if (ok && endpoint == Endpoint.CHECK_OUT) {
+                    checkedIn = false;
+                }
+            }
+        }
+
+        private Endpoint next() {
+            int pick = ThreadLocalRandom.current().nextInt(mix.total());
+            if (pick < mix.list()) {
+                return Endpoint.LIST;
+            }
+            if (pick < mix.list() + mix.today()) {
+                return Endpoint.TODAY;
+            }
+            return checkedIn ? Endpoint.CHECK_OUT : Endpoint.CHECK_IN;
+        }
+
+        private HttpRequest request(Endpoint endpoint) {
+            HttpRequest.Builder builder = switch (endpoint) {
+                case LIST -> HttpRequest.newBuilder(URI.create(baseUrl + "list")).GET();
+                case TODAY -> HttpRequest.newBuilder(URI.create(baseUrl + "todayCheckIn")).GET();
+                case CHECK_IN -> HttpRequest.newBuilder(URI.create(baseUrl + "checkin"))
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"checkIn\":" + System.currentTimeMillis() + "}"));
+                case CHECK_OUT -> HttpRequest.newBuilder(URI.create(baseUrl + "checkout"))
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"checkOut\":" + System.currentTimeMillis() + "}"));
+            };
+            return builder
+                    .header("Cookie", cookie)
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package groupbee.attendance.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * employee 서비스의 /api/hr/info, /api/employee/info 스텁.
+ * 세션 쿠키 값 "emp-{id}" 를 그 직원으로 로그인한 것으로 보고 {"id": id, "name": "Employee id"} 를 돌려준다.
+ * id 는 OdooStubServer 의 hr.employee ID(1..employees) 와 맞춰 쓴다.
+ */
+public class HrStubServer implements AutoCloseable {
+    public static final String SESSION_PREFIX = "emp-";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String sessionCookie;
+    private final long latencyMillis;
+
+    public HrStubServer(int port, String sessionCookie, long latencyMillis) throws IOException {
+        this.sessionCookie = sessionCookie;
+        this.latencyMillis = latencyMillis;
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "hr-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/api/hr/info", this::handleInfo);
+        server.createContext("/api/employee/info", this::handleInfo);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handleInfo(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            in.readAllBytes();
+        }
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        Integer employeeId = employeeId(exchange.getRequestHeaders().getFirst("Cookie"));
+        if (employeeId == null) {
+            respond(exchange, 401, "{\"message\":\"login required\"}");
+            return;
+        }
+        respond(exchange, 200, "{\"id\":" + employeeId + ",\"name\":\"Employee " + employeeId + "\"}");
+    }
+
+    private Integer employeeId(String cookieHeader) {
+        if (cookieHeader == null) {
+            return null;
+        }
+        String prefix = sessionCookie + "=" + SESSION_PREFIX;
+        for (String cookie : cookieHeader.split(";")) {
+            String trimmed = cookie.trim();
+            if (trimmed.startsWith(prefix)) {
+                try {
+                    return Integer.parseInt(trimmed.substring(prefix.length()));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package groupbee.attendance.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * 한 엔드포인트의 응답 시간(마이크로초)을 모두 모아 두는 기록기. 스레드마다 하나씩 쓰고 끝에 merge 한다.
+ */
+final class LatencyRecorder {
+    private long[] samples = new long[1024];
+    private int size;
+    private long errors;
+
+    void record(long micros, boolean ok) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = micros;
+        if (!ok) {
+            errors++;
+        }
+    }
+
+    void merge(LatencyRecorder other) {
+        if (size + other.size > samples.length) {
+            samples = Arrays.copyOf(samples, Math.max(samples.length * 2, size + other.size));
+        }
+        System.arraycopy(other.samples, 0, samples, size, other.size);
+        size += other.size;
+        errors += other.errors;
+    }
+
+    int count() {
+        return size;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    /** 정렬한 뒤 호출한다. */
+    double percentileMillis(double percentile) {
+        if (size == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * size) - 1;
+        return samples[Math.max(0, Math.min(index, size - 1))] / 1000.0;
+    }
+
+    void sort() {
+        Arrays.sort(samples, 0, size);
+    }
+}
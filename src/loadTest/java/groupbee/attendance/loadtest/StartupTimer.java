@@ -0,0 +1,188 @@
+package groupbee.attendance.loadtest;
+
+import groupbee.attendance.stub.OdooStubServer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * bootJar 를 별도 JVM 으로 여러 번 띄워 기동 시간을 잰다. Odoo 스텁과 employee 서비스 스텁은 이 프로세스에서 띄운다.
+ *
+ * ./gradlew measureStartup -PstartupArgs="--runs=5 --modes=jar,cds"
+ * ./gradlew measureStartup -Paot -PstartupArgs="--runs=5 --modes=jar,cds --aot"
+ *
+ * 모드
+ *  - jar: java -jar app.jar
+ *  - cds: Dockerfile 과 같이 jar 를 풀고 학습 실행(-Dspring.context.exit=onRefresh)으로 AppCDS 아카이브를 만든 뒤
+ *         -XX:SharedArchiveFile 로 실행한다.
+ *
+ * "Started ... in X seconds (process running for Y)" 로그가 나올 때까지를 한 번으로 보고, 프로세스 시작부터의 벽시계 시간과
+ * Spring 이 보고한 JVM 기동 시간을 출력한다. 하네스 옵션이 아닌 --key=value 는 그대로 서비스 설정으로 넘긴다.
+ */
+public class StartupTimer {
+    private static final String SESSION_COOKIE = "SESSION";
+    private static final Set<String> HARNESS_OPTIONS = Set.of("jar", "runs", "modes", "aot", "jvm-args", "timeout-seconds");
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([\\d.]+) seconds \\(process running for ([\\d.]+)\\)");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            if (HARNESS_OPTIONS.contains(pair[0])) {
+                options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+            } else {
+                appArgs.add(arg);
+            }
+        }
+        Path jar = Paths.get(Objects.requireNonNull(options.get("jar"), "--jar 가 필요합니다.")).toAbsolutePath();
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        List<String> modes = List.of(options.getOrDefault("modes", "jar").split(","));
+        boolean aot = Boolean.parseBoolean(options.getOrDefault("aot", "false"));
+        long timeoutSeconds = Long.parseLong(options.getOrDefault("timeout-seconds", "120"));
+
+        List<String> jvmArgs = new ArrayList<>();
+        String extraJvmArgs = options.getOrDefault("jvm-args", "").trim();
+        if (!extraJvmArgs.isEmpty()) {
+            jvmArgs.addAll(List.of(extraJvmArgs.split("\\s+")));
+        }
+        if (aot) {
+            // -Paot 로 빌드한 jar 여야 한다. 아니면 AOT 초기화 클래스를 찾지 못해 기동에 실패한다.
+            jvmArgs.add("-Dspring.aot.enabled=true");
+        }
+
+        try (OdooStubServer odoo = new OdooStubServer(0, 50, 1000, 0);
+             HrStubServer hr = new HrStubServer(0, SESSION_COOKIE, 0)) {
+            List<String> springArgs = new ArrayList<>(List.of(
+                    "--server.port=0",
+                    "--odoo.url=" + odoo.getUrl(),
+                    "--odoo.db=stub",
+                    "--odoo.uid=2",
+                    "--odoo.password=stub",
+                    "--FEIGN_BASE_URL=" + hr.getUrl(),
+                    "--hr-cache.session-cookie=" + SESSION_COOKIE
+            ));
+            springArgs.addAll(appArgs);
+
+            System.out.printf("startup timer: jar=%s runs=%d modes=%s aot=%s jvm-args=%s extra=%s%n",
+                    jar, runs, modes, aot, jvmArgs, appArgs);
+
+            Map<String, List<double[]>> results = new LinkedHashMap<>();
+            for (String mode : modes) {
+                List<String> command = switch (mode.trim()) {
+                    case "jar" -> javaCommand(jvmArgs, List.of(), jar, springArgs);
+                    case "cds" -> javaCommand(jvmArgs, List.of("-XX:SharedArchiveFile=" + trainCds(jar, jvmArgs, springArgs, timeoutSeconds)),
+                            jar.resolveSibling(extractedDir(jar)).resolve("app.jar"), springArgs);
+                    default -> throw new IllegalArgumentException("알 수 없는 모드: " + mode);
+                };
+                List<double[]> samples = new ArrayList<>();
+                for (int i = 0; i < runs; i++) {
+                    samples.add(measure(command, timeoutSeconds));
+                }
+                results.put(mode.trim(), samples);
+            }
+            report(results);
+        }
+    }
+
+    // jar 를 풀고 학습 실행으로 AppCDS 아카이브를 만든다. 아카이브의 클래스패스와 실행 클래스패스가 같아야 하므로 같은 디렉터리에서 실행한다.
+    private static Path trainCds(Path jar, List<String> jvmArgs, List<String> springArgs, long timeoutSeconds)
+            throws IOException, InterruptedException {
+        Path extracted = jar.resolveSibling(extractedDir(jar));
+        run(List.of(java(), "-Djarmode=tools", "-jar", jar.toString(), "extract", "--force", "--destination", extracted.toString()),
+                timeoutSeconds);
+
+        Path archive = extracted.resolve("app.jsa");
+        Files.deleteIfExists(archive);
+        List<String> training = new ArrayList<>(List.of(java(), "-XX:ArchiveClassesAtExit=" + archive));
+        training.addAll(jvmArgs);
+        // 컨텍스트 refresh 까지만 하고 종료한다. 웹 서버와 스케줄러는 시작하지 않는다.
+        training.add("-Dspring.context.exit=onRefresh");
+        training.addAll(List.of("-jar", extracted.resolve("app.jar").toString()));
+        training.addAll(springArgs);
+        run(training, timeoutSeconds);
+        if (!Files.exists(archive)) {
+            throw new IllegalStateException("AppCDS 아카이브가 만들어지지 않았습니다: " + archive);
+        }
+        return archive;
+    }
+
+    private static String extractedDir(Path jar) {
+        return jar.getFileName().toString().replaceFirst("\\.jar$", "") + "-extracted";
+    }
+
+    private static List<String> javaCommand(List<String> jvmArgs, List<String> modeArgs, Path jar, List<String> springArgs) {
+        List<String> command = new ArrayList<>();
+        command.add(java());
+        command.addAll(modeArgs);
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-jar", jar.toString()));
+        command.addAll(springArgs);
+        return command;
+    }
+
+    // 측정하는 JVM 과 학습한 JVM 이 같아야 CDS 아카이브를 쓸 수 있으므로 이 하네스를 실행한 JVM 을 쓴다.
+    private static String java() {
+        return Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    // {벽시계 초, Spring 이 보고한 JVM 기동 초}
+    private static double[] measure(List<String> command, long timeoutSeconds) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = STARTED.matcher(line);
+                if (matcher.find()) {
+                    double wall = (System.nanoTime() - start) / 1e9;
+                    return new double[]{wall, Double.parseDouble(matcher.group(2))};
+                }
+                if (System.nanoTime() - start > TimeUnit.SECONDS.toNanos(timeoutSeconds)) {
+                    break;
+                }
+            }
+            throw new IllegalStateException("기동 로그를 찾지 못했습니다: " + String.join(" ", command));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static void run(List<String> command, long timeoutSeconds) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        if (!process.waitFor(timeoutSeconds, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("시간 초과: " + String.join(" ", command));
+        }
+        if (process.exitValue() != 0) {
+            throw new IllegalStateException("종료 코드 " + process.exitValue() + ": " + String.join(" ", command));
+        }
+    }
+
+    private static void report(Map<String, List<double[]>> results) {
+        System.out.printf("%n%-6s %5s %10s %10s %10s %12s%n", "mode", "runs", "min s", "median s", "max s", "jvm median s");
+        for (Map.Entry<String, List<double[]>> entry : results.entrySet()) {
+            double[] wall = entry.getValue().stream().mapToDouble(sample -> sample[0]).sorted().toArray();
+            double[] jvm = entry.getValue().stream().mapToDouble(sample -> sample[1]).sorted().toArray();
+            System.out.printf("%-6s %5d %10.2f %10.2f %10.2f %12.2f%n", entry.getKey(), wall.length,
+                    wall[0], median(wall), wall[wall.length - 1], median(jvm));
+        }
+    }
+
+    private static double median(double[] sorted) {
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+}
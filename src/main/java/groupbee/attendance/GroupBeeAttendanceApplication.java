@@ -2,6 +2,7 @@ package groupbee.attendance;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 
 @SpringBootApplication
@@ -9,7 +10,10 @@ import org.springframework.cloud.openfeign.EnableFeignClients;
 public class GroupBeeAttendanceApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(GroupBeeAttendanceApplication.class, args);
+        SpringApplication application = new SpringApplication(GroupBeeAttendanceApplication.class);
+        // 기동 단계별 소요 시간을 /actuator/startup 으로 본다. 버퍼가 차면 이후 단계는 기록하지 않는다.
+        application.setApplicationStartup(new BufferingApplicationStartup(2048));
+        application.run(args);
     }
 
 }
@@ -0,0 +1,22 @@
+package groupbee.attendance.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "attendance-access")
+public class AttendanceAccessProperties {
+    // 모든 직원의 근태를 볼 수 있는 부서 (인사팀 등). Odoo hr.department ID
+    private List<Integer> adminDepartmentIds = new ArrayList<>();
+    // 모든 직원의 근태를 볼 수 있는 직원 (관리자 등). Odoo hr.employee ID
+    private List<Integer> adminEmployeeIds = new ArrayList<>();
+    // 호출자의 부서를 Odoo 에서 다시 읽기 전까지 캐시하는 시간. 부서 이동이 이만큼 늦게 반영된다.
+    private Duration ttl = Duration.ofMinutes(5);
+    private long maximumSize = 10_000;
+}
@@ -0,0 +1,24 @@
+package groupbee.attendance.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "attendance-stream")
+public class AttendanceStreamProperties {
+    // 프록시와 로드밸런서의 유휴 연결 종료(보통 60초)보다 짧게 둔다.
+    private Duration heartbeatInterval = Duration.ofSeconds(25);
+    // 연결을 이 시간 뒤에 닫는다. 브라우저 EventSource 는 reconnectDelay 뒤에 다시 연결한다.
+    private Duration timeout = Duration.ofMinutes(30);
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+    // 인스턴스 전체 연결 수. 넘으면 503 으로 거절한다.
+    private int maxConnections = 10_000;
+    // 한 직원의 연결 수(브라우저 탭). 넘으면 가장 오래된 연결을 닫는다.
+    private int maxConnectionsPerEmployee = 10;
+    // 한 번의 SSE 쓰기가 이 시간을 넘겨도 끝나지 않으면 막힌 연결로 보고 닫는다. heartbeat 주기마다 확인한다.
+    private Duration sendTimeout = Duration.ofSeconds(10);
+}
@@ -4,9 +4,11 @@ import feign.Logger;
 import feign.RequestInterceptor;
 import groupbee.attendance.interceptor.SessionInterceptor;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+@Slf4j
 @Configuration
 @RequiredArgsConstructor
 public class FeignConfig {
@@ -17,15 +19,12 @@ public class FeignConfig {
 
     @Bean
     public RequestInterceptor requestInterceptor() {
-        return template -> {
-            System.out.println("Request: " + template.url());
-            template.headers().forEach((key, value) ->
-                    System.out.println(key + ": " + value));
-        };
+        return template -> log.debug("Request: {}", template.url());
     }
 
+    // 호출 시간은 Micrometer 로 수집하므로 로그는 요청 라인과 상태 코드만 남긴다.
     @Bean
     Logger.Level feignLoggerLevel() {
-        return Logger.Level.FULL;
+        return Logger.Level.BASIC;
     }
 }
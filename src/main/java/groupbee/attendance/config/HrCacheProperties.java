@@ -0,0 +1,19 @@
+package groupbee.attendance.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "hr-cache")
+public class HrCacheProperties {
+    private boolean enabled = true;
+    private long maximumSize = 10_000;
+    // 세션이 살아 있는 동안 hrId 는 바뀌지 않지만, 로그아웃 누락에 대비해 만료 시간을 둔다.
+    private Duration ttl = Duration.ofMinutes(30);
+    // 캐시 키로 사용할 세션 쿠키 이름. 쿠키가 없으면 Cookie 헤더 전체를 키로 사용한다.
+    private String sessionCookie = "SESSION";
+}
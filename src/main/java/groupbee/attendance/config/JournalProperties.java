@@ -0,0 +1,27 @@
+package groupbee.attendance.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "journal")
+public class JournalProperties {
+    // 켜면 출퇴근을 로컬 저널에 남기고 바로 202 로 응답한 뒤, 백그라운드에서 Odoo 에 반영한다.
+    private boolean enabled = false;
+    private String directory = "./data/journal";
+    // 세그먼트가 이 크기를 넘으면 새 파일로 넘어간다. 모두 반영된 세그먼트는 지운다.
+    private DataSize segmentSize = DataSize.ofMegabytes(16);
+    // Odoo 연결 실패 시 재시도 간격. 실패할 때마다 두 배로 늘린다.
+    private Duration initialBackoff = Duration.ofSeconds(1);
+    private Duration maxBackoff = Duration.ofMinutes(1);
+    // Odoo 가 요청 자체를 거절한 경우 이 횟수만큼 시도한 뒤 dead-letter 파일로 옮긴다.
+    private int maxRejections = 3;
+    // 퇴근할 열린 출근이 없을 때 기다리는 시간. 저널은 인스턴스마다 있어서 같은 직원의 출근이 다른 인스턴스에 남아 있을 수 있다.
+    // 기다리는 동안 뒤의 레코드도 멈추므로 길게 두지 않는다.
+    private Duration openShiftWait = Duration.ofMinutes(2);
+}
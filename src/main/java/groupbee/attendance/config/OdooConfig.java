@@ -0,0 +1,101 @@
+package groupbee.attendance.config;
+
+import groupbee.attendance.service.odoo.OdooHttpTransportFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.apache.xmlrpc.client.XmlRpcClient;
+import org.apache.xmlrpc.client.XmlRpcClientConfigImpl;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+@EnableConfigurationProperties(OdooProperties.class)
+public class OdooConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager odooConnectionManager(OdooProperties odooProperties) {
+        OdooProperties.Pool pool = odooProperties.getPool();
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(pool.getMaxTotal())
+                .setMaxConnPerRoute(pool.getMaxPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(pool.getConnectTimeout().toMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(pool.getReadTimeout().toMillis()))
+                        .setTimeToLive(TimeValue.ofMilliseconds(pool.getTimeToLive().toMillis()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient odooHttpClient(PoolingHttpClientConnectionManager odooConnectionManager,
+                                              OdooProperties odooProperties) {
+        OdooProperties.Pool pool = odooProperties.getPool();
+        return HttpClients.custom()
+                .setConnectionManager(odooConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(pool.getAcquireTimeout().toMillis()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(pool.getReadTimeout().toMillis()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(pool.getIdleEvictAfter().toMillis()))
+                .build();
+    }
+
+    @Bean
+    public XmlRpcClient odooXmlRpcClient(CloseableHttpClient odooHttpClient,
+                                         OdooProperties odooProperties) throws MalformedURLException {
+        XmlRpcClientConfigImpl config = new XmlRpcClientConfigImpl();
+        config.setServerURL(new URL(String.format("%s/xmlrpc/2/object", odooProperties.getUrl())));
+
+        // 요청마다 새 트랜스포트를 만들지만 커넥션은 공유 풀에서 재사용한다.
+        XmlRpcClient client = new XmlRpcClient();
+        client.setConfig(config);
+        client.setTransportFactory(new OdooHttpTransportFactory(client, odooHttpClient));
+        return client;
+    }
+
+    // 여러 건의 Odoo 조회를 병렬로 보낼 때 사용한다. 실제 동시 호출 수는 OdooBulkhead 가 제한한다.
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService odooQueryExecutor(OdooProperties odooProperties) {
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(odooProperties.getBulkhead().getMaxConcurrent(), runnable -> {
+            Thread thread = new Thread(runnable, "odoo-query-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Bean
+    public MeterBinder odooConnectionPoolMetrics(PoolingHttpClientConnectionManager odooConnectionManager) {
+        return registry -> {
+            Gauge.builder("odoo.http.pool.leased", odooConnectionManager, m -> m.getTotalStats().getLeased())
+                    .description("Odoo 커넥션 중 사용 중인 수")
+                    .register(registry);
+            Gauge.builder("odoo.http.pool.idle", odooConnectionManager, m -> m.getTotalStats().getAvailable())
+                    .description("Odoo 커넥션 중 유휴 상태인 수")
+                    .register(registry);
+            Gauge.builder("odoo.http.pool.pending", odooConnectionManager, m -> m.getTotalStats().getPending())
+                    .description("커넥션을 기다리는 요청 수")
+                    .register(registry);
+            Gauge.builder("odoo.http.pool.max", odooConnectionManager, m -> m.getTotalStats().getMax())
+                    .description("Odoo 커넥션 풀 최대 크기")
+                    .register(registry);
+        };
+    }
+}
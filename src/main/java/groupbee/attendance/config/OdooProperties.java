@@ -0,0 +1,58 @@
+package groupbee.attendance.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "odoo")
+public class OdooProperties {
+    private String url;
+    private String db;
+    private int uid;
+    private String password;
+    // xmlrpc(기본) 또는 jsonrpc. OdooGateway 구현을 고른다.
+    private String transport = "xmlrpc";
+    private Pool pool = new Pool();
+    private Batch batch = new Batch();
+    private Bulkhead bulkhead = new Bulkhead();
+
+    @Getter
+    @Setter
+    public static class Pool {
+        // Odoo 는 단일 호스트이므로 전체 커넥션 수와 라우트별 커넥션 수를 같게 둔다.
+        private int maxTotal = 50;
+        private int maxPerRoute = 50;
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration readTimeout = Duration.ofSeconds(10);
+        // 풀에서 커넥션을 빌려오기까지 기다리는 최대 시간
+        private Duration acquireTimeout = Duration.ofSeconds(2);
+        private Duration idleEvictAfter = Duration.ofSeconds(30);
+        private Duration timeToLive = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+        // 출근 기록 생성을 모아서 한 번의 create 로 보낼지 여부. 퇴근 기록은 모으지 않는다.
+        private boolean enabled = false;
+        // 첫 요청이 들어온 뒤 이 시간 동안 또는 maxSize 가 찰 때까지 모은다.
+        private Duration window = Duration.ofMillis(20);
+        private int maxSize = 50;
+        // 호출자가 배치 결과를 기다리는 최대 시간
+        private Duration timeout = Duration.ofSeconds(15);
+    }
+
+    @Getter
+    @Setter
+    public static class Bulkhead {
+        // 가상 스레드로 요청 스레드 수가 사실상 무제한이 되므로 Odoo 동시 호출 수는 여기서 제한한다.
+        private boolean enabled = true;
+        private int maxConcurrent = 32;
+        // 자리가 날 때까지 기다리는 최대 시간. 넘으면 503 으로 응답한다.
+        private Duration maxWait = Duration.ofSeconds(1);
+    }
+}
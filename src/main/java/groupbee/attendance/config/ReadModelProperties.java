@@ -0,0 +1,29 @@
+package groupbee.attendance.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "read-model")
+public class ReadModelProperties {
+    // 켜면 /list 와 /todayCheckIn 을 로컬 사본으로 응답한다.
+    private boolean enabled = false;
+    // write_date 증분 조회 주기
+    private Duration pollInterval = Duration.ofSeconds(5);
+    // 마지막 동기화가 이보다 오래되면 로컬 사본 대신 Odoo 로 조회한다.
+    private Duration maxStaleness = Duration.ofSeconds(30);
+    // write_date 는 트랜잭션 시작 시각이라 늦게 커밋된 변경을 놓치지 않도록 워터마크보다 이만큼 앞에서부터 다시 읽는다.
+    private Duration overlap = Duration.ofMinutes(1);
+    private int pageSize = 2000;
+    // 삭제는 write_date 로 알 수 없으므로 주기적으로 전체를 다시 읽는다.
+    private Duration fullResyncInterval = Duration.ofHours(6);
+    // 요청 시 전체 동기화(POST /actuator/readmodel)는 직전 전체 동기화 뒤 이만큼 지나야 다시 실행한다.
+    private Duration minResyncInterval = Duration.ofMinutes(1);
+    // 비워 두면 스냅샷을 쓰지 않고 기동할 때마다 전체 동기화한다.
+    private String snapshotPath = "";
+    private Duration snapshotInterval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,19 @@
+package groupbee.attendance.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "rollup-cache")
+public class RollupCacheProperties {
+    private boolean enabled = true;
+    private long maximumEmployees = 10_000;
+    // 일 단위 2년치 정도. 넘치면 더 캐시하지 않고 매번 집계한다.
+    private int maximumPerEmployee = 800;
+    // 값은 조회할 때마다 근태 버전으로 검증하지만, 자주 보는 직원의 묶음도 이 시간이 지나면 다시 집계한다.
+    private Duration expireAfterWrite = Duration.ofDays(1);
+}
@@ -2,18 +2,47 @@ package groupbee.attendance.config;
 
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 @Configuration
 public class SwaggerConfig {
+    private static final String SPRINGDOC_PACKAGE = "org.springdoc.";
 
     @Bean
+    @Lazy
     public OpenAPI openAPI(){
         return new OpenAPI()
                 .info(apiInfo());
     }
 
+    // springdoc 빈은 기동 때 만들지 않고 첫 /api/attendance/swagger 요청 때 만든다.
+    // 다른 빈이 주입받는 것(WebMvcConfigurer 등)은 그대로 기동 때 만들어진다.
+    @Bean
+    public static BeanFactoryPostProcessor lazySpringdocBeans() {
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                String className = declaringClassName(definition);
+                if (className != null && className.startsWith(SPRINGDOC_PACKAGE)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    // @Bean 메서드로 등록된 빈은 빈 클래스 이름이 없으므로 메서드를 선언한 설정 클래스로 판단한다.
+    private static String declaringClassName(BeanDefinition definition) {
+        if (definition instanceof AnnotatedBeanDefinition annotated && annotated.getFactoryMethodMetadata() != null) {
+            return annotated.getFactoryMethodMetadata().getDeclaringClassName();
+        }
+        return definition.getBeanClassName();
+    }
+
 
     private Info apiInfo() {
         return new Info()
@@ -21,4 +50,4 @@ public class SwaggerConfig {
                 .description("각 컨틀롤러들의 RestApi 명세서")
                 .version("1.0");
     }
-}
\ No newline at end of file
+}
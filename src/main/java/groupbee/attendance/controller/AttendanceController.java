@@ -1,27 +1,50 @@
 package groupbee.attendance.controller;
 
 import groupbee.attendance.dto.AttendanceDto;
+import groupbee.attendance.dto.AttendanceSummaryDto;
+import groupbee.attendance.service.attendance.AttendanceExportService;
 import groupbee.attendance.service.attendance.AttendanceService;
+import groupbee.attendance.service.attendance.AttendanceStreamService;
+import groupbee.attendance.service.attendance.AttendanceSummaryService;
+import groupbee.attendance.service.feign.HrInfoCache;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/attendance")
 @RequiredArgsConstructor
 public class AttendanceController {
     private final AttendanceService attendanceService;
+    private final AttendanceSummaryService attendanceSummaryService;
+    private final AttendanceExportService attendanceExportService;
+    private final AttendanceStreamService attendanceStreamService;
+    private final HrInfoCache hrInfoCache;
 
     @Operation(
             summary = "로그인 아이디 별 근태 리스트",
-            description = "로그인 아이디 별 근태으로 근태리스트을 반환"
+            description = "로그인 아이디 별 근태리스트를 최신순으로 페이지 단위로 반환. " +
+                    "다음 페이지가 있으면 X-Next-Cursor 헤더 값을 cursor 파라미터로 전달. " +
+                    "ETag 를 If-None-Match 로 보내면 바뀐 기록이 없을 때 304"
     )
     @GetMapping("list")
-    public ResponseEntity<List<AttendanceDto>> getAttendanceList() {
-        return attendanceService.getAttendanceList();
+    public ResponseEntity<List<AttendanceDto>> getAttendanceList(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "" + AttendanceService.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) String cursor,
+            WebRequest webRequest) {
+        return attendanceService.getAttendanceList(from, to, size, cursor, webRequest);
     }
     @Operation(
             summary = "출근",
@@ -46,7 +69,68 @@ public class AttendanceController {
     }
 
     @GetMapping("/todayCheckIn")
-    public ResponseEntity<?> getTodayCheckIn() {
-        return attendanceService.getTodayCheckIn();
+    public ResponseEntity<?> getTodayCheckIn(WebRequest webRequest) {
+        return attendanceService.getTodayCheckIn(webRequest);
+    }
+
+    @Operation(
+            summary = "오늘 출퇴근 상태 구독 (SSE)",
+            description = "연결하면 todayCheckIn 과 같은 목록을 status 이벤트로 보내고, 출퇴근이 기록되면 다시 보낸다. " +
+                    "기록이 없으면 빈 목록. 연결 유지를 위해 주기적으로 heartbeat 주석을 보낸다."
+    )
+    @GetMapping(value = "stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream() {
+        return attendanceStreamService.subscribe();
+    }
+
+    @Operation(
+            summary = "팀/부서 근태 리스트",
+            description = "employeeIds 또는 departmentId 로 지정한 직원들의 기간(from~to, 최대 92일) 근태를 직원별로 묶어 반환. 자기 부서와 직속 부하만 조회할 수 있고(인사/관리자는 전체), 그 밖에는 403"
+    )
+    @GetMapping("team")
+    public ResponseEntity<Map<Integer, List<AttendanceDto>>> getTeamAttendance(
+            @RequestParam(required = false) List<Integer> employeeIds,
+            @RequestParam(required = false) Integer departmentId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return attendanceService.getTeamAttendance(employeeIds, departmentId, from, to);
+    }
+
+    @Operation(
+            summary = "근무 시간 요약",
+            description = "로그인 아이디의 기간(day, week, month)별 근무 시간 합계와 출근 건수를 오래된 순으로 반환. " +
+                    "from~to 는 기간 경계로 넓혀지고 주는 월요일에 시작한다."
+    )
+    @GetMapping("summary")
+    public ResponseEntity<List<AttendanceSummaryDto>> getSummary(
+            @RequestParam(defaultValue = "day") String period,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return attendanceSummaryService.getSummary(period, from, to);
+    }
+
+    @Operation(
+            summary = "근태 내보내기",
+            description = "기간(from~to, 최대 366일)의 근태를 csv 또는 ndjson 으로 내려받는다. " +
+                    "employeeIds 를 주지 않으면 전체 직원. 시각은 KST 이고 id 오름차순으로 스트리밍된다. " +
+                    "인사/관리자가 아니면 자기 기록만 내보내고, 다른 직원을 지정하면 403."
+    )
+    @GetMapping("export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<Integer> employeeIds,
+            @RequestParam(defaultValue = "csv") String format) {
+        return attendanceExportService.export(from, to, employeeIds, format);
+    }
+
+    @Operation(
+            summary = "세션 캐시 삭제",
+            description = "로그아웃 시 현재 세션으로 캐시된 HR 정보를 삭제"
+    )
+    @DeleteMapping("session")
+    public ResponseEntity<Void> invalidateSession() {
+        hrInfoCache.invalidateCurrentSession();
+        return ResponseEntity.noContent().build();
     }
 }
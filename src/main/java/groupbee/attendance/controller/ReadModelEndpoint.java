@@ -0,0 +1,50 @@
+package groupbee.attendance.controller;
+
+import groupbee.attendance.service.attendance.AttendanceReadModel;
+import groupbee.attendance.service.attendance.AttendanceReadModelSync;
+import groupbee.attendance.service.odoo.OdooException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.web.server.ConditionalOnManagementPort;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 로컬 사본 상태 조회와 전체 재동기화. 운영용이라 사용자 API 가 아닌 actuator 에 둔다.
+ * GET /actuator/readmodel, POST /actuator/readmodel
+ * 재동기화는 Odoo 전체를 읽으므로 actuator 를 내부용 포트(management.server.port)로 분리했을 때만 등록하고,
+ * read-model.min-resync-interval 안에 다시 요청하면 실행하지 않는다.
+ */
+@Component
+@Endpoint(id = "readmodel")
+@ConditionalOnProperty(prefix = "read-model", name = "enabled", havingValue = "true")
+@ConditionalOnManagementPort(ManagementPortType.DIFFERENT)
+@RequiredArgsConstructor
+public class ReadModelEndpoint {
+    private final AttendanceReadModel attendanceReadModel;
+    private final AttendanceReadModelSync attendanceReadModelSync;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("serving", attendanceReadModel.isServing());
+        status.put("records", attendanceReadModel.size());
+        status.put("stalenessSeconds", attendanceReadModel.stalenessSeconds());
+        return status;
+    }
+
+    @WriteOperation
+    public Map<String, Object> resync() throws OdooException {
+        boolean resynced = attendanceReadModelSync.resync();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("resynced", resynced);
+        result.put("records", attendanceReadModel.size());
+        return result;
+    }
+}
@@ -0,0 +1,19 @@
+package groupbee.attendance.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+// 완료된 기간의 값은 캐시에 그대로 보관되므로 변경할 수 없게 둔다.
+@Getter
+@ToString
+@Builder
+@AllArgsConstructor
+public class AttendanceSummaryDto {
+    private final String period;
+    private final LocalDate periodStart;
+    private final LocalDate periodEnd;
+    private final double workHours;
+    private final int count;
+    private final boolean completed;
+}
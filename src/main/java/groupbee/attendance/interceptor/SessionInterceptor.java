@@ -13,7 +13,6 @@ public class SessionInterceptor implements RequestInterceptor {
         if (attributes != null) {
             HttpServletRequest request = attributes.getRequest();
             String springSession = request.getHeader("Cookie");
-            System.out.println(springSession);
             template.header("Cookie", springSession);
         }
     }
@@ -0,0 +1,89 @@
+package groupbee.attendance.service.attendance;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import groupbee.attendance.config.AttendanceAccessProperties;
+import groupbee.attendance.service.odoo.AttendanceRecordDecoder;
+import groupbee.attendance.service.odoo.OdooException;
+import groupbee.attendance.service.odoo.OdooGateway;
+import groupbee.attendance.service.odoo.OdooQuery;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 다른 직원의 근태를 볼 수 있는지 판단한다.
+ * 인사/관리자(attendance-access.admin-*)는 모든 직원을, 그 밖의 직원은 자기 부서 직원과 직속 부하(parent_id)만 볼 수 있다.
+ * 호출자의 부서는 Odoo hr.employee 에서 읽어 잠시 캐시한다.
+ */
+@Component
+@EnableConfigurationProperties(AttendanceAccessProperties.class)
+public class AttendanceAccessPolicy {
+    private static final String EMPLOYEE_MODEL = "hr.employee";
+
+    /** departmentId 는 부서가 없으면 null */
+    public record Caller(int employeeId, Integer departmentId, boolean admin) {
+    }
+
+    private final OdooGateway odooGateway;
+    private final AttendanceRecordDecoder attendanceRecordDecoder;
+    private final AttendanceAccessProperties attendanceAccessProperties;
+    private final Cache<Integer, Caller> callers;
+
+    public AttendanceAccessPolicy(OdooGateway odooGateway, AttendanceRecordDecoder attendanceRecordDecoder,
+                                  AttendanceAccessProperties attendanceAccessProperties) {
+        this.odooGateway = odooGateway;
+        this.attendanceRecordDecoder = attendanceRecordDecoder;
+        this.attendanceAccessProperties = attendanceAccessProperties;
+        this.callers = Caffeine.newBuilder()
+                .maximumSize(attendanceAccessProperties.getMaximumSize())
+                .expireAfterWrite(attendanceAccessProperties.getTtl())
+                .build();
+    }
+
+    public Caller resolve(int hrId) throws OdooException {
+        Caller cached = callers.getIfPresent(hrId);
+        if (cached != null) {
+            return cached;
+        }
+        List<Map<String, Object>> employees = odooGateway.searchRead(EMPLOYEE_MODEL, OdooQuery.builder()
+                .domain(List.of(Arrays.asList("id", "=", hrId)))
+                .fields(List.of("department_id"))
+                .limit(1)
+                .build());
+        Integer departmentId = employees.isEmpty() ? null
+                : attendanceRecordDecoder.decodeMany2oneId(employees.get(0).get("department_id"));
+        boolean admin = attendanceAccessProperties.getAdminEmployeeIds().contains(hrId)
+                || (departmentId != null && attendanceAccessProperties.getAdminDepartmentIds().contains(departmentId));
+        Caller caller = new Caller(hrId, departmentId, admin);
+        callers.put(hrId, caller);
+        return caller;
+    }
+
+    public boolean canViewDepartment(Caller caller, int departmentId) {
+        return caller.admin() || Objects.equals(caller.departmentId(), departmentId);
+    }
+
+    /** 요청한 직원을 모두 볼 수 있으면 true. 하나라도 볼 수 없으면 false (일부만 돌려주지 않는다). */
+    public boolean canViewEmployees(Caller caller, Collection<Integer> employeeIds) throws OdooException {
+        if (caller.admin()) {
+            return true;
+        }
+        Set<Integer> others = new HashSet<>(employeeIds);
+        others.remove(caller.employeeId());
+        if (others.isEmpty()) {
+            return true;
+        }
+        // 요청한 직원 중 같은 부서이거나 직속 부하인 직원만 센다.
+        List<Object> domain = new ArrayList<>();
+        domain.add(Arrays.asList("id", "in", new ArrayList<>(others)));
+        if (caller.departmentId() != null) {
+            domain.add("|");
+            domain.add(Arrays.asList("department_id", "=", caller.departmentId()));
+        }
+        domain.add(Arrays.asList("parent_id", "=", caller.employeeId()));
+        List<Integer> visible = odooGateway.search(EMPLOYEE_MODEL, OdooQuery.builder().domain(domain).build());
+        return visible.size() == others.size();
+    }
+}
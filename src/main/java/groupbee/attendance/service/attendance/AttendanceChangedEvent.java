@@ -0,0 +1,7 @@
+package groupbee.attendance.service.attendance;
+
+/**
+ * 직원의 출퇴근 기록이 바뀌었음을 알린다. 이 서비스의 출퇴근 기록과 로컬 사본 동기화가 발행한다.
+ */
+public record AttendanceChangedEvent(int employeeId) {
+}
@@ -0,0 +1,47 @@
+package groupbee.attendance.service.attendance;
+
+import groupbee.attendance.service.odoo.AttendanceRecordDecoder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 근태 리스트의 keyset 커서. 정렬 기준(check_in desc, id desc)의 마지막 값을 담는다.
+ * 클라이언트에게는 내용을 알 수 없는 문자열로만 노출한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class AttendanceCursor {
+    private static final char SEPARATOR = '|';
+
+    // Odoo 가 돌려준 UTC 문자열 그대로 (yyyy-MM-dd HH:mm:ss)
+    private final String checkIn;
+    private final int id;
+
+    public String encode() {
+        String raw = checkIn + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AttendanceCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+            String checkIn = raw.substring(0, separator);
+            int id = Integer.parseInt(raw.substring(separator + 1));
+            // 커서 값은 Odoo 도메인과 로컬 사본 조회에 그대로 쓰이므로 다시 쓴 결과가 같은 정확한 시각만 받는다.
+            if (id <= 0 || !AttendanceRecordDecoder.formatOdooDateTime(AttendanceRecordDecoder.parseOdooDateTime(checkIn)).equals(checkIn)) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+            return new AttendanceCursor(checkIn, id);
+        } catch (IllegalArgumentException e) {
+            // Base64 디코딩 실패, NumberFormatException, 날짜 형식 오류 모두 여기로 온다.
+            throw new IllegalArgumentException("잘못된 커서입니다.", e);
+        }
+    }
+}
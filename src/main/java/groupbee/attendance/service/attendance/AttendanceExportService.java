@@ -0,0 +1,257 @@
+package groupbee.attendance.service.attendance;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import groupbee.attendance.service.feign.HrInfoCache;
+import groupbee.attendance.service.odoo.AttendanceRecordDecoder;
+import groupbee.attendance.service.odoo.OdooBulkheadFullException;
+import groupbee.attendance.service.odoo.OdooException;
+import groupbee.attendance.service.odoo.OdooGateway;
+import groupbee.attendance.service.odoo.OdooQuery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기간(과 선택한 직원들)의 hr.attendance 를 CSV 또는 NDJSON 으로 내보낸다. 다른 직원의 기록은 인사/관리자만 내보낼 수 있다.
+ * id 키셋으로 한 페이지씩 search_read 해서 받은 즉시 응답에 쓰므로, 메모리에는 한 페이지만 남고
+ * 첫 바이트는 첫 페이지 조회 한 번 뒤에 나간다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendanceExportService {
+    private static final int PAGE_SIZE = 1000;
+    private static final int MAX_EXPORT_RANGE_DAYS = 366;
+    // 내보내기 도중 벌크헤드가 가득 차면 오류로 끊지 않고 잠시 기다렸다가 같은 페이지를 다시 읽는다.
+    private static final int MAX_BUSY_RETRIES = 5;
+    private static final long BUSY_RETRY_MILLIS = 500;
+    private static final List<String> FIELDS = List.of("employee_id", "check_in", "check_out", "worked_hours");
+    private static final String CSV_HEADER = "id,employee_id,employee_name,check_in,check_out,worked_hours\n";
+
+    private final HrInfoCache hrInfoCache;
+    private final OdooGateway odooGateway;
+    private final AttendanceRecordDecoder attendanceRecordDecoder;
+    private final ObjectMapper objectMapper;
+    private final AttendanceAccessPolicy attendanceAccessPolicy;
+
+    public ResponseEntity<StreamingResponseBody> export(LocalDate from, LocalDate to, List<Integer> employeeIds, String format) {
+        try {
+            // 스트리밍은 요청 스레드 밖에서 실행되므로 세션과 권한 확인은 여기서 끝낸다.
+            Map<String, Object> employeeInfo = hrInfoCache.getHrInfo();
+            int hrId = (int) employeeInfo.get("id");
+
+            ExportFormat exportFormat = ExportFormat.from(format);
+            if (from == null || to == null || to.isBefore(from) || from.plusDays(MAX_EXPORT_RANGE_DAYS).isBefore(to)) {
+                return ResponseEntity.badRequest().body(null);
+            }
+
+            // 다른 직원(또는 전체)의 내보내기는 인사/관리자만 할 수 있다. 그 밖의 직원은 자기 기록만 내보낸다.
+            if (!attendanceAccessPolicy.resolve(hrId).admin()) {
+                if (employeeIds != null && !employeeIds.isEmpty() && !List.of(hrId).equals(employeeIds.stream().distinct().toList())) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
+                }
+                employeeIds = List.of(hrId);
+            }
+            List<Integer> targetIds = employeeIds;
+
+            String fromUtc = attendanceRecordDecoder.toOdooUtc(from.atStartOfDay());
+            String toUtc = attendanceRecordDecoder.toOdooUtc(to.plusDays(1).atStartOfDay());
+
+            // 첫 페이지는 요청 스레드에서 읽어서 Odoo 오류를 상태 코드로 돌려줄 수 있게 한다.
+            List<Map<String, Object>> firstPage = readPage(targetIds, fromUtc, toUtc, 0);
+
+            StreamingResponseBody body = out -> {
+                try (RowWriter writer = exportFormat == ExportFormat.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out)) {
+                    List<Map<String, Object>> page = firstPage;
+                    int total = 0;
+                    while (true) {
+                        for (Map<String, Object> record : page) {
+                            writer.write(record);
+                        }
+                        writer.flush();
+                        total += page.size();
+                        if (page.size() < PAGE_SIZE) {
+                            break;
+                        }
+                        int afterId = (int) page.get(page.size() - 1).get("id");
+                        page = readPageWithRetry(targetIds, fromUtc, toUtc, afterId);
+                    }
+                    log.info("attendance export {}~{}: {} records", from, to, total);
+                }
+            };
+
+            String filename = "attendance-" + from + "-" + to + "." + exportFormat.extension();
+            return ResponseEntity.ok()
+                    .contentType(exportFormat.mediaType())
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                    .body(body);
+        } catch (IllegalArgumentException e) {
+            log.warn("Bad Request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(null);
+        } catch (OdooBulkheadFullException e) {
+            // Odoo 동시 호출 한도 초과
+            log.warn("Odoo Busy: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(null);
+        } catch (FeignException.BadRequest e) {
+            // 400 Bad Request 발생 시 처리
+            log.warn("Bad Request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(null);
+        } catch (FeignException e) {
+            // 기타 FeignException 발생 시 처리
+            log.warn("Feign Exception: {}", e.getMessage());
+            return ResponseEntity.status(e.status()).body(null);
+        } catch (Exception e) {
+            // 일반 예외 처리
+            log.error("attendance export failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    private List<Map<String, Object>> readPage(List<Integer> employeeIds, String fromUtc, String toUtc, int afterId) throws OdooException {
+        List<Object> domain = new ArrayList<>();
+        if (employeeIds != null && !employeeIds.isEmpty()) {
+            domain.add(Arrays.asList("employee_id", "in", employeeIds));
+        }
+        domain.add(Arrays.asList("check_in", ">=", fromUtc));
+        domain.add(Arrays.asList("check_in", "<", toUtc));
+        domain.add(Arrays.asList("id", ">", afterId));
+        return odooGateway.searchRead(OdooGateway.ATTENDANCE_MODEL, OdooQuery.builder()
+                .domain(domain)
+                .fields(FIELDS)
+                .order("id asc")
+                .limit(PAGE_SIZE)
+                .build());
+    }
+
+    // 응답 상태는 이미 나갔으므로 실패하면 연결을 끊어서 클라이언트가 잘린 파일을 완료로 받지 않게 한다.
+    private List<Map<String, Object>> readPageWithRetry(List<Integer> employeeIds, String fromUtc, String toUtc, int afterId) throws IOException {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return readPage(employeeIds, fromUtc, toUtc, afterId);
+            } catch (OdooBulkheadFullException e) {
+                if (attempt >= MAX_BUSY_RETRIES) {
+                    throw new IOException("Odoo busy during export after id " + afterId, e);
+                }
+                try {
+                    TimeUnit.MILLISECONDS.sleep(BUSY_RETRY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("export interrupted");
+                }
+            } catch (OdooException e) {
+                throw new IOException("export failed after id " + afterId, e);
+            }
+        }
+    }
+
+    private interface RowWriter extends Closeable {
+        void write(Map<String, Object> record) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    // 시각은 KST 의 "yyyy-MM-dd HH:mm:ss", 퇴근 전이면 빈 칸
+    private final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        private CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            // 엑셀에서 한글 이름이 깨지지 않도록 BOM 을 붙인다.
+            writer.write('\uFEFF');
+            writer.write(CSV_HEADER);
+        }
+
+        @Override
+        public void write(Map<String, Object> record) throws IOException {
+            writer.write(String.valueOf(record.get("id")));
+            writer.write(',');
+            writer.write(String.valueOf(attendanceRecordDecoder.decodeEmployeeId(record)));
+            writer.write(',');
+            writeQuoted(attendanceRecordDecoder.decodeEmployeeName(record));
+            writer.write(',');
+            writer.write(attendanceRecordDecoder.toKstString((String) record.get("check_in")));
+            writer.write(',');
+            if (record.get("check_out") instanceof String checkOut) {
+                writer.write(attendanceRecordDecoder.toKstString(checkOut));
+            }
+            writer.write(',');
+            writer.write(String.valueOf(workedHours(record)));
+            writer.write('\n');
+        }
+
+        private void writeQuoted(String value) throws IOException {
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    // 한 줄에 레코드 하나. check_out 은 퇴근 전이면 null
+    private final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            // 루트 값 사이의 기본 공백 대신 각 레코드 뒤에 직접 줄바꿈을 쓴다.
+            generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+        }
+
+        @Override
+        public void write(Map<String, Object> record) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", (int) record.get("id"));
+            generator.writeNumberField("employeeId", attendanceRecordDecoder.decodeEmployeeId(record));
+            generator.writeStringField("employeeName", attendanceRecordDecoder.decodeEmployeeName(record));
+            generator.writeStringField("checkIn", attendanceRecordDecoder.toKstString((String) record.get("check_in")));
+            if (record.get("check_out") instanceof String checkOut) {
+                generator.writeStringField("checkOut", attendanceRecordDecoder.toKstString(checkOut));
+            } else {
+                generator.writeNullField("checkOut");
+            }
+            generator.writeNumberField("workHours", workedHours(record));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static double workedHours(Map<String, Object> record) {
+        return record.get("worked_hours") instanceof Number hours ? hours.doubleValue() : 0.0;
+    }
+}
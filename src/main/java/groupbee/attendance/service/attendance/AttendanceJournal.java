@@ -0,0 +1,370 @@
+package groupbee.attendance.service.attendance;
+
+import groupbee.attendance.config.JournalProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 출퇴근 요청을 Odoo 에 반영하기 전에 남겨 두는 추가 전용 저널.
+ * 레코드는 [길이][CRC32][본문] 형식으로 세그먼트 파일에 이어 쓰고, 동시에 들어온 요청들은 한 번의 fsync 를 함께 기다린다 (group commit).
+ * 재생이 끝난 마지막 순번은 checkpoint 파일에 남기고, 재시작하면 그 이후 레코드를 다시 대기열에 올린다.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(JournalProperties.class)
+public class AttendanceJournal {
+    public enum Type {
+        CHECK_IN, CHECK_OUT
+    }
+
+    /** key 는 요청마다 만드는 UUID 로, 202 응답과 로그, dead-letter 에서 같은 요청을 가리킨다. */
+    public record Entry(long sequence, Type type, String key, int employeeId, String utcTime, long createdAtMillis) {
+    }
+
+    // offset 은 모든 세그먼트를 이어 붙인 논리 위치. 이 위치까지 fsync 된 뒤에만 재생한다.
+    private record Pending(Entry entry, long offset) {
+    }
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_BYTES = 8;
+
+    private final JournalProperties journalProperties;
+    private final BlockingQueue<Pending> pending = new LinkedBlockingQueue<>();
+    // 세그먼트 첫 순번 -> 마지막 순번
+    private final ConcurrentSkipListMap<Long, Long> segments = new ConcurrentSkipListMap<>();
+    private final Object writeLock = new Object();
+    private final Object forceLock = new Object();
+    private final Counter appended;
+    private final Counter replayed;
+    private final Counter deadLettered;
+    private final Timer fsync;
+
+    private Path directory;
+    private FileChannel checkpointChannel;
+    private volatile FileChannel segment;
+    private long segmentFirstSequence;
+    private long segmentBytes;
+    private long nextSequence = 1;
+    private volatile long writtenOffset;
+    private volatile long durableOffset;
+    private volatile Entry inFlight;
+
+    public AttendanceJournal(JournalProperties journalProperties, MeterRegistry meterRegistry) {
+        this.journalProperties = journalProperties;
+        Gauge.builder("attendance.journal.depth", this, AttendanceJournal::depth)
+                .description("Odoo 에 아직 반영되지 않은 저널 레코드 수")
+                .register(meterRegistry);
+        Gauge.builder("attendance.journal.replay.lag", this, AttendanceJournal::replayLagSeconds)
+                .description("가장 오래된 미반영 레코드가 기다린 시간(초)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.appended = Counter.builder("attendance.journal.appended").register(meterRegistry);
+        this.replayed = Counter.builder("attendance.journal.replayed").register(meterRegistry);
+        this.deadLettered = Counter.builder("attendance.journal.dead-lettered").register(meterRegistry);
+        this.fsync = Timer.builder("attendance.journal.fsync")
+                .description("저널 fsync 시간. 한 번의 fsync 가 여러 요청을 함께 처리한다.")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return journalProperties.isEnabled();
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!journalProperties.isEnabled()) {
+            return;
+        }
+        directory = Path.of(journalProperties.getDirectory());
+        Files.createDirectories(directory);
+        checkpointChannel = FileChannel.open(directory.resolve("checkpoint"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long checkpoint = readCheckpoint();
+        recover(checkpoint);
+        nextSequence = Math.max(nextSequence, checkpoint + 1);
+        openSegment(nextSequence);
+        log.info("journal opened at {}: {} pending entries, next sequence {}", directory, pending.size(), nextSequence);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (segment == null) {
+            return;
+        }
+        synchronized (writeLock) {
+            synchronized (forceLock) {
+                segment.force(false);
+                segment.close();
+            }
+            checkpointChannel.close();
+        }
+    }
+
+    /** 레코드를 저널에 쓰고 디스크에 반영될 때까지 기다린다. 반환 후에는 재시작해도 잃지 않는다. */
+    public Entry append(Type type, int employeeId, String utcTime) throws IOException {
+        Entry entry;
+        long offset;
+        synchronized (writeLock) {
+            entry = new Entry(nextSequence, type, UUID.randomUUID().toString(), employeeId, utcTime,
+                    System.currentTimeMillis());
+            ByteBuffer buffer = encode(entry);
+            int size = buffer.remaining();
+            if (segmentBytes > 0 && segmentBytes + size > journalProperties.getSegmentSize().toBytes()) {
+                rotate(entry.sequence());
+            }
+            try {
+                while (buffer.hasRemaining()) {
+                    segment.write(buffer);
+                }
+            } catch (IOException e) {
+                // 반쯤 쓴 레코드 뒤에 이어 쓰면 복구할 때 그 뒤가 모두 버려지므로 잘라 낸다.
+                segment.truncate(segmentBytes);
+                throw e;
+            }
+            nextSequence++;
+            segmentBytes += size;
+            segments.put(segmentFirstSequence, entry.sequence());
+            writtenOffset += size;
+            offset = writtenOffset;
+            // 순번 순서대로 대기열에 넣어야 checkpoint 이전 레코드가 모두 반영되었다고 볼 수 있다.
+            pending.add(new Pending(entry, offset));
+        }
+        awaitDurable(offset);
+        appended.increment();
+        return entry;
+    }
+
+    /** 다음으로 재생할 레코드. 완료(complete/deadLetter)할 때까지 같은 레코드가 inFlight 로 남는다. */
+    public Entry next(long timeout, TimeUnit unit) throws InterruptedException, IOException {
+        Pending next = pending.poll(timeout, unit);
+        if (next == null) {
+            return null;
+        }
+        awaitDurable(next.offset());
+        inFlight = next.entry();
+        return next.entry();
+    }
+
+    /** entry 까지 Odoo 에 반영되었음을 기록하고, 모두 반영된 세그먼트를 지운다. */
+    public void complete(Entry entry) throws IOException {
+        checkpoint(entry);
+        replayed.increment();
+    }
+
+    private void checkpoint(Entry entry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).putLong(0, entry.sequence());
+        while (buffer.hasRemaining()) {
+            checkpointChannel.write(buffer, buffer.position());
+        }
+        checkpointChannel.force(false);
+        inFlight = null;
+        deleteReplayedSegments(entry.sequence());
+    }
+
+    /** Odoo 가 계속 거절하는 레코드는 dead-letter 파일에 옮겨 두고 다음 레코드로 넘어간다. */
+    public void deadLetter(Entry entry, String reason) throws IOException {
+        String line = String.join("\t", Instant.now().toString(), String.valueOf(entry.sequence()), entry.key(),
+                entry.type().name(), String.valueOf(entry.employeeId()), entry.utcTime(),
+                reason == null ? "" : reason.replaceAll("\\s+", " ")) + "\n";
+        try (FileChannel channel = FileChannel.open(directory.resolve("dead-letter.log"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+            channel.force(false);
+        }
+        log.error("journal entry {} ({} {} employee {}) dead-lettered: {}",
+                entry.sequence(), entry.key(), entry.type(), entry.employeeId(), reason);
+        deadLettered.increment();
+        checkpoint(entry);
+    }
+
+    public int depth() {
+        return pending.size() + (inFlight != null ? 1 : 0);
+    }
+
+    public double replayLagSeconds() {
+        Entry oldest = inFlight;
+        if (oldest == null) {
+            Pending head = pending.peek();
+            oldest = head != null ? head.entry() : null;
+        }
+        return oldest == null ? 0.0 : (System.currentTimeMillis() - oldest.createdAtMillis()) / 1000.0;
+    }
+
+    // 먼저 fsync 를 시작한 스레드가 그때까지 쓰인 전부를 반영하고, 기다리던 스레드들은 그 결과를 함께 쓴다.
+    private void awaitDurable(long offset) throws IOException {
+        if (durableOffset >= offset) {
+            return;
+        }
+        synchronized (forceLock) {
+            if (durableOffset >= offset) {
+                return;
+            }
+            long upTo = writtenOffset;
+            long start = System.nanoTime();
+            segment.force(false);
+            fsync.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            durableOffset = Math.max(durableOffset, upTo);
+        }
+    }
+
+    // writeLock 을 잡은 상태에서 호출된다.
+    private void rotate(long firstSequence) throws IOException {
+        synchronized (forceLock) {
+            segment.force(false);
+            durableOffset = writtenOffset;
+            segment.close();
+            openSegment(firstSequence);
+        }
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        segment = FileChannel.open(segmentPath(firstSequence), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentFirstSequence = firstSequence;
+        segmentBytes = segment.size();
+        segments.put(firstSequence, firstSequence - 1);
+        syncDirectory();
+    }
+
+    private void deleteReplayedSegments(long checkpoint) throws IOException {
+        Long current;
+        synchronized (writeLock) {
+            current = segmentFirstSequence;
+        }
+        for (Map.Entry<Long, Long> closed : segments.headMap(current, false).entrySet()) {
+            if (closed.getValue() <= checkpoint) {
+                Files.deleteIfExists(segmentPath(closed.getKey()));
+                segments.remove(closed.getKey());
+            }
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        if (checkpointChannel.size() < Long.BYTES) {
+            return 0L;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        while (buffer.hasRemaining() && checkpointChannel.read(buffer, buffer.position()) > 0) {
+            // 8 바이트를 모두 읽는다.
+        }
+        return buffer.getLong(0);
+    }
+
+    // 끝이 잘리거나 CRC 가 맞지 않는 레코드부터는 쓰다가 멈춘 것으로 보고 파일에서 잘라 낸다.
+    // 남겨 두면 그 뒤에 쓴 레코드가 다음 복구 때 함께 버려진다.
+    private void recover(long checkpoint) throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)).sorted().toList();
+        }
+        for (Path file : files) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            long first = -1;
+            long last = -1;
+            int validEnd = 0;
+            while (buffer.remaining() >= HEADER_BYTES) {
+                int length = buffer.getInt();
+                int crc = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    log.warn("journal {} has a torn record at {}, truncating", file, validEnd);
+                    break;
+                }
+                byte[] body = new byte[length];
+                buffer.get(body);
+                CRC32 checksum = new CRC32();
+                checksum.update(body);
+                if ((int) checksum.getValue() != crc) {
+                    log.warn("journal {} has a corrupt record at {}, truncating", file, validEnd);
+                    break;
+                }
+                Entry entry = decode(body);
+                first = first < 0 ? entry.sequence() : first;
+                last = entry.sequence();
+                if (entry.sequence() > checkpoint) {
+                    pending.add(new Pending(entry, 0L));
+                }
+                nextSequence = Math.max(nextSequence, entry.sequence() + 1);
+                validEnd = buffer.position();
+            }
+            if (last < 0 || last <= checkpoint) {
+                Files.delete(file);
+                continue;
+            }
+            if (validEnd < buffer.limit()) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(validEnd);
+                    channel.force(false);
+                }
+            }
+            segments.put(first, last);
+        }
+    }
+
+    private Path segmentPath(long firstSequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+    }
+
+    // 새로 만든 세그먼트 파일이 디렉터리에 남도록 디렉터리도 fsync 한다. 지원하지 않는 플랫폼에서는 건너뛴다.
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("journal directory fsync not supported: {}", e.getMessage());
+        }
+    }
+
+    private static ByteBuffer encode(Entry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(entry.sequence());
+            out.writeByte(entry.type().ordinal());
+            out.writeLong(entry.createdAtMillis());
+            out.writeInt(entry.employeeId());
+            out.writeUTF(entry.key());
+            out.writeUTF(entry.utcTime());
+        }
+        byte[] body = bytes.toByteArray();
+        CRC32 checksum = new CRC32();
+        checksum.update(body);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + body.length);
+        buffer.putInt(body.length).putInt((int) checksum.getValue()).put(body).flip();
+        return buffer;
+    }
+
+    private static Entry decode(byte[] body) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(body))) {
+            long sequence = in.readLong();
+            Type type = Type.values()[in.readByte()];
+            long createdAt = in.readLong();
+            int employeeId = in.readInt();
+            String key = in.readUTF();
+            String utcTime = in.readUTF();
+            return new Entry(sequence, type, key, employeeId, utcTime, createdAt);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package groupbee.attendance.service.attendance;
+
+import groupbee.attendance.config.JournalProperties;
+import groupbee.attendance.service.odoo.OdooBulkheadFullException;
+import groupbee.attendance.service.odoo.OdooException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저널에 쌓인 출퇴근을 순서대로 Odoo 에 반영하는 단일 스레드.
+ * hr.attendance 에는 요청 키를 담을 필드가 없어서 (직원, 출근/퇴근 시각) 을 멱등 키로 쓴다.
+ * 반영 직후 checkpoint 전에 죽어서 같은 레코드를 다시 재생해도, 이미 같은 시각의 기록이 있으면 건너뛴다.
+ * 저널은 인스턴스마다 따로 있으므로 순서는 한 인스턴스 안에서만 보장된다. 한 직원의 출근과 퇴근이 서로 다른 인스턴스로 가면
+ * 퇴근이 먼저 재생될 수 있어서, 열린 출근이 없는 퇴근은 바로 dead-letter 로 보내지 않고 journal.open-shift-wait 동안 기다린다.
+ * 그보다 오래 어긋나지 않으려면 출퇴근 요청을 직원 단위로 같은 인스턴스에 보내야 한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "journal", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class AttendanceJournalReplayer {
+    private final AttendanceJournal attendanceJournal;
+    private final AttendancePunchWriter attendancePunchWriter;
+    private final JournalProperties journalProperties;
+
+    private Thread worker;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "attendance-journal-replayer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // 처리 중이던 레코드는 checkpoint 전이므로 다음 기동 때 다시 재생된다.
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                AttendanceJournal.Entry entry = attendanceJournal.next(1, TimeUnit.SECONDS);
+                if (entry != null) {
+                    replayWithRetry(entry);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                log.error("journal I/O error", e);
+            }
+        }
+    }
+
+    // 연결 실패는 간격을 늘려 가며 계속 재시도하고, Odoo 가 거절한 레코드만 maxRejections 뒤에 dead-letter 로 보낸다.
+    // 열린 출근이 없는 퇴근은 다른 인스턴스의 출근이 반영되기를 openShiftWait 동안 기다린 뒤에 dead-letter 로 보낸다.
+    private void replayWithRetry(AttendanceJournal.Entry entry) throws InterruptedException, IOException {
+        long backoffMillis = journalProperties.getInitialBackoff().toMillis();
+        int rejections = 0;
+        long waitingSince = 0;
+        while (running) {
+            try {
+                replay(entry);
+                attendanceJournal.complete(entry);
+                return;
+            } catch (NoOpenAttendanceException e) {
+                long now = System.nanoTime();
+                waitingSince = waitingSince == 0 ? now : waitingSince;
+                if (now - waitingSince >= journalProperties.getOpenShiftWait().toNanos()) {
+                    attendanceJournal.deadLetter(entry, e.getMessage());
+                    return;
+                }
+                log.info("journal entry {} waiting for an open attendance of employee {}", entry.sequence(), entry.employeeId());
+            } catch (OdooException e) {
+                if (e.isRejected() && ++rejections >= journalProperties.getMaxRejections()) {
+                    attendanceJournal.deadLetter(entry, e.getMessage());
+                    return;
+                }
+                log.warn("journal entry {} replay failed (attempt rejected={}): {}", entry.sequence(), e.isRejected(), e.getMessage());
+            } catch (OdooBulkheadFullException e) {
+                log.debug("journal entry {} waiting for Odoo capacity", entry.sequence());
+            }
+            TimeUnit.MILLISECONDS.sleep(backoffMillis);
+            backoffMillis = Math.min(backoffMillis * 2, journalProperties.getMaxBackoff().toMillis());
+        }
+    }
+
+    private void replay(AttendanceJournal.Entry entry) throws OdooException {
+        int hrId = entry.employeeId();
+        switch (entry.type()) {
+            case CHECK_IN -> {
+                if (attendancePunchWriter.findByTime(hrId, "check_in", entry.utcTime()) == null) {
+                    attendancePunchWriter.checkIn(hrId, entry.utcTime());
+                }
+            }
+            case CHECK_OUT -> {
+                if (attendancePunchWriter.findByTime(hrId, "check_out", entry.utcTime()) == null
+                        && attendancePunchWriter.checkOut(hrId, entry.utcTime()) == null) {
+                    // 이 저널의 앞선 출근은 이미 반영되었다. 열린 기록이 생긴다면 다른 인스턴스나 Odoo 에서 쓴 출근이다.
+                    throw new NoOpenAttendanceException(hrId);
+                }
+            }
+        }
+    }
+
+    private static class NoOpenAttendanceException extends OdooException {
+        NoOpenAttendanceException(int hrId) {
+            super("No open attendance for employee " + hrId, null, true);
+        }
+    }
+}
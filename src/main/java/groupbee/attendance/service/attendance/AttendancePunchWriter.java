@@ -0,0 +1,117 @@
+package groupbee.attendance.service.attendance;
+
+import groupbee.attendance.service.odoo.OdooException;
+import groupbee.attendance.service.odoo.OdooGateway;
+import groupbee.attendance.service.odoo.OdooQuery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 출퇴근을 Odoo 에 기록하고 로컬 상태(열린 근무 인덱스, 로컬 사본, 요약 캐시)를 맞춘 뒤 AttendanceChangedEvent 를 발행한다.
+ * 요청 스레드에서 바로 쓰는 경우와 저널 재생에서 쓰는 경우가 같은 경로를 탄다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AttendancePunchWriter {
+    private final OdooGateway odooGateway;
+    private final AttendanceWriteBatcher attendanceWriteBatcher;
+    private final OpenShiftIndex openShiftIndex;
+    private final AttendanceReadModel attendanceReadModel;
+    private final AttendanceRollupCache attendanceRollupCache;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    /** 출근 기록을 만들고 ID 를 반환한다. */
+    public int checkIn(int hrId, String utcCheckInTime) throws OdooException {
+        // 출근 데이터를 Map으로 정의
+        Map<String, Object> attendanceData = new HashMap<>();
+        attendanceData.put("employee_id", hrId); // 직원 ID
+        attendanceData.put("check_in", utcCheckInTime); // 출근 시간
+
+        // Odoo 에서 'hr.attendance' 모델을 사용하여 출근 데이터 생성
+        int attendanceId = attendanceWriteBatcher.create(attendanceData);
+        openShiftIndex.put(hrId, attendanceId);
+        attendanceReadModel.recordCheckIn(attendanceId, hrId, utcCheckInTime);
+        // 과거 시각으로 출근하면 이미 끝난 기간의 요약이 바뀐다.
+        attendanceRollupCache.invalidateEmployee(hrId);
+        applicationEventPublisher.publishEvent(new AttendanceChangedEvent(hrId));
+        return attendanceId;
+    }
+
+    /** 열린 출근 기록에 퇴근 시간을 기록하고 그 기록 ID 를 반환한다. 열린 기록이 없으면 null. */
+    public Integer checkOut(int hrId, String utcCheckOutTime) throws OdooException {
+        Integer attendanceId = writeCheckOut(hrId, utcCheckOutTime);
+        if (attendanceId != null) {
+            attendanceReadModel.recordCheckOut(attendanceId, utcCheckOutTime);
+            // 자정을 넘긴 퇴근은 어제 기간의 근무 시간을 바꾼다.
+            attendanceRollupCache.invalidateEmployee(hrId);
+            applicationEventPublisher.publishEvent(new AttendanceChangedEvent(hrId));
+        }
+        return attendanceId;
+    }
+
+    /** employee_id 와 field(check_in/check_out) 값이 같은 기록의 ID. 없으면 null. */
+    public Integer findByTime(int hrId, String field, String utcTime) throws OdooException {
+        List<Integer> ids = odooGateway.search(OdooGateway.ATTENDANCE_MODEL, OdooQuery.builder()
+                .domain(List.of(
+                        Arrays.asList("employee_id", "=", hrId),
+                        Arrays.asList(field, "=", utcTime)
+                ))
+                .limit(1)
+                .build());
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    /**
+     * 인덱스에 ID 가 있으면 그 기록이 아직 열려 있는지 ID 로만 확인하고 write 한다.
+     * 다른 인스턴스가 이미 퇴근 처리했거나 기록이 지워졌으면 인덱스에서 빼고 Odoo 에서 다시 찾는다.
+     */
+    private Integer writeCheckOut(int hrId, String utcCheckOutTime) throws OdooException {
+        Integer indexedId = openShiftIndex.get(hrId);
+        if (indexedId != null) {
+            openShiftIndex.remove(hrId, indexedId);
+            // Odoo write 는 조건을 걸 수 없으므로, 닫힌 기록의 퇴근 시간을 덮어쓰지 않도록 먼저 열려 있는지 본다.
+            if (isOpen(hrId, indexedId)) {
+                attendanceWriteBatcher.writeCheckOut(indexedId, utcCheckOutTime);
+                return indexedId;
+            }
+            log.debug("open shift index stale for employee {} (attendance {})", hrId, indexedId);
+        }
+
+        // 퇴근 시간을 업데이트할 출근 기록 ID를 찾습니다. 가장 최근 출근 기록을 사용합니다.
+        List<Integer> attendanceIds = odooGateway.search(OdooGateway.ATTENDANCE_MODEL, OdooQuery.builder()
+                .domain(List.of(
+                        Arrays.asList("employee_id", "=", hrId),  // 직원 ID
+                        Arrays.asList("check_out", "=", false) // 아직 퇴근 기록이 없는 것만 검색
+                ))
+                .order("check_in desc, id desc")
+                .limit(1)
+                .build());
+        if (attendanceIds.isEmpty()) {
+            return null;
+        }
+
+        int attendanceId = attendanceIds.get(0);
+        attendanceWriteBatcher.writeCheckOut(attendanceId, utcCheckOutTime);
+        return attendanceId;
+    }
+
+    // 기본 키 조회라 직원 전체 기록을 정렬하는 검색보다 싸다.
+    private boolean isOpen(int hrId, int attendanceId) throws OdooException {
+        return !odooGateway.search(OdooGateway.ATTENDANCE_MODEL, OdooQuery.builder()
+                .domain(List.of(
+                        Arrays.asList("id", "=", attendanceId),
+                        Arrays.asList("employee_id", "=", hrId),
+                        Arrays.asList("check_out", "=", false)
+                ))
+                .limit(1)
+                .build()).isEmpty();
+    }
+}
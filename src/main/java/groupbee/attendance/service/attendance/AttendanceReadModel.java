@@ -0,0 +1,299 @@
+package groupbee.attendance.service.attendance;
+
+import groupbee.attendance.config.ReadModelProperties;
+import groupbee.attendance.dto.AttendanceDto;
+import groupbee.attendance.service.odoo.AttendanceRecordDecoder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * hr.attendance 의 로컬 사본. 직원별로 (check_in, id) 내림차순 인덱스를 두어 Odoo 의 "check_in desc, id desc" 조회를 그대로 재현한다.
+ * 동기화는 AttendanceReadModelSync 가 하고, 이 서비스의 출퇴근 기록은 바로 반영한다.
+ * 마지막 동기화가 read-model.max-staleness 보다 오래되면 isServing() 이 false 가 되어 호출부가 Odoo 로 조회한다.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ReadModelProperties.class)
+public class AttendanceReadModel {
+    public static final long OPEN = Long.MIN_VALUE;
+    private static final int SNAPSHOT_MAGIC = 0x47424152; // "GBAR"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final Comparator<Key> NEWEST_FIRST =
+            Comparator.comparingLong(Key::checkIn).thenComparingInt(Key::id).reversed();
+    // 직원별 변경 번호. 인덱스를 바꿔 끼워도 번호가 되풀이되지 않도록 인덱스 밖에 두고,
+    // 재시작 뒤 같은 번호가 이전 ETag 와 겹치지 않도록 기동 시각을 함께 쓴다.
+    private static final AtomicLong VERSION_SEQUENCE = new AtomicLong();
+    private static final String VERSION_EPOCH = Long.toHexString(System.currentTimeMillis());
+
+    /** 출퇴근 시각은 UTC epoch 초, 퇴근 전이면 checkOut 은 OPEN */
+    public record Row(int id, int employeeId, long checkIn, long checkOut, double workedHours) {
+    }
+
+    private record Key(long checkIn, int id) {
+    }
+
+    // 전체 동기화는 새 인덱스를 만든 뒤 통째로 바꿔 끼운다.
+    static final class Index {
+        private final Map<Integer, ConcurrentSkipListMap<Key, Row>> byEmployee = new ConcurrentHashMap<>();
+        private final Map<Integer, Row> byId = new ConcurrentHashMap<>();
+        private final Map<Integer, Long> versions = new ConcurrentHashMap<>();
+
+        /** 기록이 바뀌었으면 true */
+        synchronized boolean upsert(Row row) {
+            Row previous = byId.get(row.id());
+            if (row.equals(previous)) {
+                return false; // 증분 동기화의 overlap 으로 다시 읽은 같은 기록은 버전을 바꾸지 않는다.
+            }
+            byId.put(row.id(), row);
+            versions.put(row.employeeId(), VERSION_SEQUENCE.incrementAndGet());
+            byEmployee.computeIfAbsent(row.employeeId(), id -> new ConcurrentSkipListMap<>(NEWEST_FIRST))
+                    .put(new Key(row.checkIn(), row.id()), row);
+            // check_in 이나 직원이 바뀐 경우 이전 위치를 지운다. 새 위치를 먼저 넣어서 조회 중에 사라지지 않게 한다.
+            if (previous != null && (previous.checkIn() != row.checkIn() || previous.employeeId() != row.employeeId())) {
+                Map<Key, Row> rows = byEmployee.get(previous.employeeId());
+                if (rows != null) {
+                    rows.remove(new Key(previous.checkIn(), previous.id()));
+                }
+                if (previous.employeeId() != row.employeeId()) {
+                    versions.put(previous.employeeId(), VERSION_SEQUENCE.incrementAndGet());
+                }
+            }
+            return true;
+        }
+    }
+
+    private final ReadModelProperties readModelProperties;
+    private final AttendanceRecordDecoder attendanceRecordDecoder;
+    private volatile Index index = new Index();
+    private volatile boolean ready;
+    private volatile long lastSyncNanos;
+    private volatile long watermark = Long.MIN_VALUE;
+
+    public AttendanceReadModel(ReadModelProperties readModelProperties,
+                               AttendanceRecordDecoder attendanceRecordDecoder, MeterRegistry meterRegistry) {
+        this.readModelProperties = readModelProperties;
+        this.attendanceRecordDecoder = attendanceRecordDecoder;
+        Gauge.builder("attendance.read-model.records", this, model -> model.index.byId.size())
+                .description("로컬 사본의 hr.attendance 레코드 수")
+                .register(meterRegistry);
+        Gauge.builder("attendance.read-model.staleness", this, AttendanceReadModel::stalenessSeconds)
+                .description("마지막 동기화 이후 경과 시간(초)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return readModelProperties.isEnabled();
+    }
+
+    public boolean isServing() {
+        return readModelProperties.isEnabled() && ready
+                && System.nanoTime() - lastSyncNanos <= readModelProperties.getMaxStaleness().toNanos();
+    }
+
+    /**
+     * employeeId 의 기록 중 fromUtc <= check_in < toUtc 이고 after 보다 뒤인 것을 최신순으로 limit 건 반환한다.
+     * Clock 에 따라 Odoo 조회 결과와 같은 모양의 AttendanceDto 를 만든다 (KST 는 근무 시간을 채우지 않는다).
+     */
+    public List<AttendanceDto> find(int employeeId, long fromUtc, long toUtc, AttendanceCursor after, int limit,
+                                    AttendanceRecordDecoder.Clock clock) {
+        ConcurrentSkipListMap<Key, Row> rows = index.byEmployee.get(employeeId);
+        if (rows == null) {
+            return new ArrayList<>();
+        }
+        // 내림차순이므로 (toUtc, 최소 id) 다음부터가 check_in < toUtc 이다.
+        Key start = new Key(toUtc, Integer.MIN_VALUE);
+        if (after != null) {
+            Key cursor = new Key(AttendanceRecordDecoder.parseOdooDateTime(after.getCheckIn()), after.getId());
+            if (NEWEST_FIRST.compare(cursor, start) > 0) {
+                start = cursor;
+            }
+        }
+        ConcurrentNavigableMap<Key, Row> tail = rows.tailMap(start, false);
+
+        List<AttendanceDto> result = new ArrayList<>(Math.min(limit, 64));
+        for (Row row : tail.values()) {
+            if (row.checkIn() < fromUtc || result.size() >= limit) {
+                break;
+            }
+            result.add(toDto(row, clock));
+        }
+        return result;
+    }
+
+    /** employeeId 의 기록이 바뀔 때마다 달라지는 값. 조건부 GET 의 ETag 에 쓴다. */
+    public String version(int employeeId) {
+        Long version = index.versions.get(employeeId);
+        return VERSION_EPOCH + "." + (version == null ? 0 : version);
+    }
+
+    private AttendanceDto toDto(Row row, AttendanceRecordDecoder.Clock clock) {
+        AttendanceDto dto = new AttendanceDto();
+        dto.setId(row.id());
+        dto.setEmployeeId(row.employeeId());
+        if (clock == AttendanceRecordDecoder.Clock.KST) {
+            dto.setCheckIn(attendanceRecordDecoder.toKstTimestamp(row.checkIn()));
+            dto.setCheckOut(row.checkOut() == OPEN ? null : attendanceRecordDecoder.toKstTimestamp(row.checkOut()));
+        } else {
+            dto.setCheckIn(attendanceRecordDecoder.toUtcTimestamp(row.checkIn()));
+            dto.setCheckOut(row.checkOut() == OPEN ? null : attendanceRecordDecoder.toUtcTimestamp(row.checkOut()));
+            dto.setWorkHours(row.workedHours());
+        }
+        return dto;
+    }
+
+    // 이 서비스가 Odoo 에 기록한 출근을 바로 반영한다. 다음 동기화에서 Odoo 값으로 덮어쓴다.
+    public void recordCheckIn(int attendanceId, int employeeId, String utcCheckIn) {
+        if (readModelProperties.isEnabled()) {
+            index.upsert(new Row(attendanceId, employeeId, AttendanceRecordDecoder.parseOdooDateTime(utcCheckIn), OPEN, 0.0));
+        }
+    }
+
+    public void recordCheckOut(int attendanceId, String utcCheckOut) {
+        if (!readModelProperties.isEnabled()) {
+            return;
+        }
+        Index current = index;
+        Row row = current.byId.get(attendanceId);
+        if (row != null) {
+            long checkOut = AttendanceRecordDecoder.parseOdooDateTime(utcCheckOut);
+            current.upsert(new Row(row.id(), row.employeeId(), row.checkIn(), checkOut, (checkOut - row.checkIn()) / 3600.0));
+        }
+    }
+
+    boolean upsert(Row row) {
+        return index.upsert(row);
+    }
+
+    Index newIndex() {
+        return new Index();
+    }
+
+    void upsert(Index target, Row row) {
+        target.upsert(row);
+    }
+
+    /**
+     * 전체 동기화 결과로 인덱스를 바꾸고, 이전 인덱스와 비교해 기록이 바뀐(생성, 수정, 삭제) 직원 ID 를 반환한다.
+     * 바뀌지 않은 직원은 이전 버전을 그대로 이어받아 ETag 가 불필요하게 바뀌지 않게 한다.
+     */
+    Set<Integer> replace(Index fresh, long freshWatermark) {
+        Index previous = index;
+        Set<Integer> changed = new HashSet<>();
+        for (Row row : fresh.byId.values()) {
+            Row old = previous.byId.get(row.id());
+            if (!row.equals(old)) {
+                changed.add(row.employeeId());
+                if (old != null) {
+                    changed.add(old.employeeId());
+                }
+            }
+        }
+        for (Row old : previous.byId.values()) {
+            if (!fresh.byId.containsKey(old.id())) {
+                changed.add(old.employeeId());
+            }
+        }
+        previous.versions.forEach((employeeId, version) -> {
+            if (!changed.contains(employeeId) && fresh.versions.containsKey(employeeId)) {
+                fresh.versions.put(employeeId, version);
+            }
+        });
+        index = fresh;
+        markSynced(freshWatermark);
+        return changed;
+    }
+
+    void markSynced(long newWatermark) {
+        watermark = Math.max(watermark, newWatermark);
+        lastSyncNanos = System.nanoTime();
+        ready = true;
+    }
+
+    long getWatermark() {
+        return watermark;
+    }
+
+    public int size() {
+        return index.byId.size();
+    }
+
+    public double stalenessSeconds() {
+        return ready ? (System.nanoTime() - lastSyncNanos) / 1e9 : Double.NaN;
+    }
+
+    /**
+     * 워터마크와 전체 레코드를 임시 파일에 쓴 뒤 원자적으로 바꾼다.
+     * 워터마크를 먼저 읽어 두므로 쓰는 도중의 변경은 다음 증분 동기화가 다시 가져온다.
+     */
+    void writeSnapshot(Path path) throws IOException {
+        long snapshotWatermark = watermark;
+        Index current = index;
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(snapshotWatermark);
+            List<Row> rows = new ArrayList<>(current.byId.values());
+            out.writeInt(rows.size());
+            for (Row row : rows) {
+                out.writeInt(row.id());
+                out.writeInt(row.employeeId());
+                out.writeLong(row.checkIn());
+                out.writeLong(row.checkOut());
+                out.writeDouble(row.workedHours());
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("read-model snapshot written: {} records, watermark {}", current.byId.size(), snapshotWatermark);
+    }
+
+    /**
+     * 스냅샷을 읽어 인덱스와 워터마크를 복원한다. 스냅샷 이후 변경은 아직 반영되지 않았으므로
+     * 첫 증분 동기화가 끝날 때까지 isServing() 은 false 로 둔다.
+     */
+    boolean loadSnapshot(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                log.warn("read-model snapshot {} has an unknown format, ignoring", path);
+                return false;
+            }
+            long snapshotWatermark = in.readLong();
+            int count = in.readInt();
+            Index loaded = new Index();
+            for (int i = 0; i < count; i++) {
+                loaded.upsert(new Row(in.readInt(), in.readInt(), in.readLong(), in.readLong(), in.readDouble()));
+            }
+            index = loaded;
+            watermark = snapshotWatermark;
+            log.info("read-model snapshot loaded: {} records, watermark {}", count, snapshotWatermark);
+            return true;
+        }
+    }
+}
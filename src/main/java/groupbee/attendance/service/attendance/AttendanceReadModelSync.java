@@ -0,0 +1,248 @@
+package groupbee.attendance.service.attendance;
+
+import groupbee.attendance.config.ReadModelProperties;
+import groupbee.attendance.service.odoo.AttendanceRecordDecoder;
+import groupbee.attendance.service.odoo.OdooException;
+import groupbee.attendance.service.odoo.OdooGateway;
+import groupbee.attendance.service.odoo.OdooQuery;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AttendanceReadModel 을 Odoo 와 맞춘다.
+ * 평소에는 write_date 워터마크 이후 변경분만 id 순으로 나눠 읽고,
+ * 삭제를 반영하기 위해 read-model.full-resync-interval 마다 또는 요청 시 전체를 다시 읽어 인덱스를 바꿔 끼운다.
+ * 실제로 바뀐 기록이 있는 직원마다 AttendanceChangedEvent 를 발행한다.
+ */
+@Slf4j
+@Component
+@EnableScheduling
+@ConditionalOnProperty(prefix = "read-model", name = "enabled", havingValue = "true")
+public class AttendanceReadModelSync {
+    private static final List<String> FIELDS = List.of("employee_id", "check_in", "check_out", "worked_hours", "write_date");
+
+    private final AttendanceReadModel attendanceReadModel;
+    private final AttendanceRecordDecoder attendanceRecordDecoder;
+    private final OdooGateway odooGateway;
+    private final ReadModelProperties readModelProperties;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    // 증분/전체 동기화와 스냅샷이 동시에 돌지 않게 한다.
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private volatile boolean initialized;
+    private volatile long lastFullResyncNanos;
+
+    public AttendanceReadModelSync(AttendanceReadModel attendanceReadModel, AttendanceRecordDecoder attendanceRecordDecoder,
+                                   OdooGateway odooGateway, ReadModelProperties readModelProperties,
+                                   MeterRegistry meterRegistry, ApplicationEventPublisher applicationEventPublisher) {
+        this.attendanceReadModel = attendanceReadModel;
+        this.attendanceRecordDecoder = attendanceRecordDecoder;
+        this.odooGateway = odooGateway;
+        this.readModelProperties = readModelProperties;
+        this.meterRegistry = meterRegistry;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Scheduled(fixedDelayString = "${read-model.poll-interval:5s}")
+    public void poll() {
+        if (!syncLock.tryLock()) {
+            return; // 전체 동기화 중
+        }
+        try {
+            if (!initialized) {
+                initialize();
+            } else if (System.nanoTime() - lastFullResyncNanos >= readModelProperties.getFullResyncInterval().toNanos()) {
+                timed("full", this::fullResync);
+            } else {
+                timed("incremental", this::incrementalSync);
+            }
+        } catch (Exception e) {
+            // 다음 주기에 다시 시도한다. 그동안 오래된 사본은 isServing() 이 막는다.
+            log.warn("read-model sync failed: {}", e.getMessage());
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * 요청 시 전체 동기화. 이미 동기화 중이면 끝날 때까지 기다린다.
+     * 직전 전체 동기화가 read-model.min-resync-interval 안이면 다시 읽지 않고 false.
+     */
+    public boolean resync() throws OdooException {
+        syncLock.lock();
+        try {
+            if (initialized && System.nanoTime() - lastFullResyncNanos < readModelProperties.getMinResyncInterval().toNanos()) {
+                return false;
+            }
+            timed("full", this::fullResync);
+            initialized = true;
+            return true;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${read-model.snapshot-interval:5m}", initialDelayString = "${read-model.snapshot-interval:5m}")
+    public void snapshot() {
+        Path path = snapshotPath();
+        if (path == null || !initialized) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            attendanceReadModel.writeSnapshot(path);
+        } catch (Exception e) {
+            log.warn("read-model snapshot failed: {}", e.getMessage());
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshot();
+    }
+
+    // 스냅샷이 있으면 거기서부터 증분 동기화하고, 없으면 전체를 읽는다.
+    private void initialize() throws Exception {
+        Path path = snapshotPath();
+        if (path != null && attendanceReadModel.loadSnapshot(path)) {
+            timed("incremental", this::incrementalSync);
+            // 스냅샷 시점 이전에 지워진 기록은 다음 전체 동기화 주기에 정리된다.
+            lastFullResyncNanos = System.nanoTime();
+        } else {
+            timed("full", this::fullResync);
+        }
+        initialized = true;
+    }
+
+    private void incrementalSync() throws OdooException {
+        long watermark = attendanceReadModel.getWatermark();
+        // 전체 동기화에서 레코드가 하나도 없었으면 워터마크가 없다.
+        long since = watermark == Long.MIN_VALUE ? 0L : Math.max(0L, watermark - readModelProperties.getOverlap().toSeconds());
+        String sinceDate = AttendanceRecordDecoder.formatOdooDateTime(since);
+        int afterId = 0;
+        long maxWriteDate = watermark;
+        int changed = 0;
+        Set<Integer> changedEmployees = new HashSet<>();
+        while (true) {
+            // 하한은 한 번의 동기화 동안 고정하고 id 로만 페이지를 넘긴다. Odoo 가 돌려주는 write_date 는 초 단위지만
+            // DB 에는 마이크로초까지 있어서 (write_date, id) 키셋은 같은 초에 바뀐 기록이 한 페이지를 넘으면 같은 페이지를 계속 읽는다.
+            List<Map<String, Object>> records = odooGateway.searchRead(OdooGateway.ATTENDANCE_MODEL, OdooQuery.builder()
+                    .domain(List.of(
+                            Arrays.asList("write_date", ">=", sinceDate),
+                            Arrays.asList("id", ">", afterId)
+                    ))
+                    .fields(FIELDS)
+                    .order("id asc")
+                    .limit(readModelProperties.getPageSize())
+                    .build());
+            for (Map<String, Object> record : records) {
+                AttendanceReadModel.Row row = toRow(record);
+                if (attendanceReadModel.upsert(row)) {
+                    changedEmployees.add(row.employeeId());
+                }
+                maxWriteDate = Math.max(maxWriteDate, writeDate(record));
+            }
+            changed += records.size();
+            if (records.size() < readModelProperties.getPageSize()) {
+                break;
+            }
+            afterId = (int) records.get(records.size() - 1).get("id");
+        }
+        // 워터마크는 모든 페이지를 읽은 뒤에만 올린다. 중간에 실패하면 다음 주기에 같은 하한부터 다시 읽는다.
+        attendanceReadModel.markSynced(maxWriteDate);
+        publishChanges(changedEmployees);
+        log.debug("read-model incremental sync: {} records since {}", changed, sinceDate);
+    }
+
+    private void fullResync() throws OdooException {
+        AttendanceReadModel.Index fresh = attendanceReadModel.newIndex();
+        long maxWriteDate = Long.MIN_VALUE;
+        int afterId = 0;
+        int total = 0;
+        while (true) {
+            List<Map<String, Object>> records = odooGateway.searchRead(OdooGateway.ATTENDANCE_MODEL, OdooQuery.builder()
+                    .domain(List.of(Arrays.asList("id", ">", afterId)))
+                    .fields(FIELDS)
+                    .order("id asc")
+                    .limit(readModelProperties.getPageSize())
+                    .build());
+            for (Map<String, Object> record : records) {
+                attendanceReadModel.upsert(fresh, toRow(record));
+                maxWriteDate = Math.max(maxWriteDate, writeDate(record));
+            }
+            total += records.size();
+            if (records.size() < readModelProperties.getPageSize()) {
+                break;
+            }
+            afterId = (int) records.get(records.size() - 1).get("id");
+        }
+        Set<Integer> changedEmployees = attendanceReadModel.replace(fresh, maxWriteDate);
+        publishChanges(changedEmployees);
+        lastFullResyncNanos = System.nanoTime();
+        log.info("read-model full resync: {} records", total);
+    }
+
+    private void publishChanges(Set<Integer> employeeIds) {
+        for (int employeeId : employeeIds) {
+            applicationEventPublisher.publishEvent(new AttendanceChangedEvent(employeeId));
+        }
+    }
+
+    private AttendanceReadModel.Row toRow(Map<String, Object> record) {
+        Object checkOut = record.get("check_out");
+        return new AttendanceReadModel.Row(
+                (int) record.get("id"),
+                attendanceRecordDecoder.decodeEmployeeId(record),
+                AttendanceRecordDecoder.parseOdooDateTime((String) record.get("check_in")),
+                checkOut instanceof String text ? AttendanceRecordDecoder.parseOdooDateTime(text) : AttendanceReadModel.OPEN,
+                record.get("worked_hours") instanceof Number hours ? hours.doubleValue() : 0.0
+        );
+    }
+
+    private long writeDate(Map<String, Object> record) {
+        return AttendanceRecordDecoder.parseOdooDateTime((String) record.get("write_date"));
+    }
+
+    private Path snapshotPath() {
+        String path = readModelProperties.getSnapshotPath();
+        return path == null || path.isBlank() ? null : Path.of(path);
+    }
+
+    @FunctionalInterface
+    private interface SyncStep {
+        void run() throws OdooException;
+    }
+
+    private void timed(String type, SyncStep step) throws OdooException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            step.run();
+        } catch (OdooException | RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("attendance.read-model.sync")
+                    .description("로컬 사본 동기화 시간")
+                    .tags("type", type, "exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package groupbee.attendance.service.attendance;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import groupbee.attendance.config.RollupCacheProperties;
+import groupbee.attendance.dto.AttendanceSummaryDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 끝난 기간의 근무 시간 요약 캐시. 끝난 기간은 다시 계산하지 않고 진행 중인 기간만 Odoo 에서 집계한다.
+ * 직원 단위로 묶어 두어서, 이 서비스가 출퇴근을 기록할 때 (자정을 넘긴 퇴근, 과거 시각 출근) 한 번에 비운다.
+ * 다른 인스턴스나 Odoo 화면에서 고친 기록은 여기로 알려지지 않으므로, 묶음마다 만들 때의 근태 버전을 들고 있다가
+ * 조회할 때의 버전과 다르면 버린다.
+ */
+@Component
+@EnableConfigurationProperties(RollupCacheProperties.class)
+public class AttendanceRollupCache {
+    private record Key(SummaryPeriod period, LocalDate periodStart) {
+    }
+
+    private record Bundle(String version, Map<Key, AttendanceSummaryDto> rollups) {
+    }
+
+    private final RollupCacheProperties rollupCacheProperties;
+    private final Cache<Integer, Bundle> cache;
+
+    public AttendanceRollupCache(RollupCacheProperties rollupCacheProperties, MeterRegistry meterRegistry) {
+        this.rollupCacheProperties = rollupCacheProperties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(rollupCacheProperties.getMaximumEmployees())
+                .expireAfterWrite(rollupCacheProperties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "attendanceRollup");
+    }
+
+    /**
+     * 직원 한 명의 롤업 묶음. version 은 집계하기 전에 읽은 AttendanceVersions 값이다.
+     * 들고 있는 묶음의 버전이 다르면 새 묶음으로 바꾼다. 집계 도중 invalidateEmployee 가 불리거나 버전이 바뀌면
+     * 이 묶음은 캐시에서 떨어져 나가므로, 그 뒤에 넣는 값이 새 묶음을 오염시키지 않는다.
+     */
+    public Rollups forEmployee(int employeeId, String version) {
+        if (!rollupCacheProperties.isEnabled()) {
+            return new Rollups(new ConcurrentHashMap<>());
+        }
+        Bundle bundle = cache.getIfPresent(employeeId);
+        if (bundle == null || !bundle.version().equals(version)) {
+            Bundle fresh = new Bundle(version, new ConcurrentHashMap<>());
+            bundle = cache.asMap().merge(employeeId, fresh,
+                    (current, ignored) -> current.version().equals(version) ? current : fresh);
+        }
+        return new Rollups(bundle.rollups());
+    }
+
+    public class Rollups {
+        private final Map<Key, AttendanceSummaryDto> rollups;
+
+        private Rollups(Map<Key, AttendanceSummaryDto> rollups) {
+            this.rollups = rollups;
+        }
+
+        public AttendanceSummaryDto get(SummaryPeriod period, LocalDate periodStart) {
+            return rollups.get(new Key(period, periodStart));
+        }
+
+        public void put(SummaryPeriod period, AttendanceSummaryDto summary) {
+            if (summary.isCompleted() && rollups.size() < rollupCacheProperties.getMaximumPerEmployee()) {
+                rollups.put(new Key(period, summary.getPeriodStart()), summary);
+            }
+        }
+    }
+
+    public void invalidateEmployee(int employeeId) {
+        cache.invalidate(employeeId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
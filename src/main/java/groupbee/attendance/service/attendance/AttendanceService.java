@@ -1,93 +1,149 @@
 package groupbee.attendance.service.attendance;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import feign.FeignException;
 import groupbee.attendance.dto.AttendanceDto;
-import groupbee.attendance.service.feign.FeignClient;
+import groupbee.attendance.service.feign.HrInfoCache;
+import groupbee.attendance.service.odoo.AttendanceRecordDecoder;
+import groupbee.attendance.service.odoo.OdooBulkheadFullException;
+import groupbee.attendance.service.odoo.OdooException;
+import groupbee.attendance.service.odoo.OdooGateway;
+import groupbee.attendance.service.odoo.OdooQuery;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.xmlrpc.client.XmlRpcClient;
-import org.apache.xmlrpc.client.XmlRpcClientConfigImpl;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.WebRequest;
 
-import java.net.URL;
-import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AttendanceService {
-    private final FeignClient feignClient;
-    private final String odooUrl = System.getenv("ODOO_URL");
-    private final String odooDb = System.getenv("ODOO_DB");
-    private final int odooUid = Integer.parseInt(System.getenv("ODOO_UID"));
-    private final String odooPassword = System.getenv("ODOO_PASSWORD");
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+    // 이틀치 출퇴근 기록이면 충분하다. 비정상적으로 많은 기록이 있어도 조회량을 고정한다.
+    private static final int TODAY_RECORD_LIMIT = 20;
+    private static final int TODAY_STATE_CACHE_SIZE = 10_000;
+    // 팀 조회는 "in" 도메인 하나에 넣는 직원 수와 전체 인원, 기간을 제한한다.
+    private static final int TEAM_CHUNK_SIZE = 50;
+    private static final int MAX_TEAM_SIZE = 1000;
+    private static final int MAX_TEAM_RANGE_DAYS = 92;
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    // 직원별 응답이므로 공유 캐시에는 남기지 않고, 브라우저는 매번 ETag 로 재검증하게 한다.
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final HrInfoCache hrInfoCache;
+    private final OdooGateway odooGateway;
+    private final OpenShiftIndex openShiftIndex;
+    private final AttendancePunchWriter attendancePunchWriter;
+    private final AttendanceJournal attendanceJournal;
+    private final ExecutorService odooQueryExecutor;
+    private final AttendanceRecordDecoder attendanceRecordDecoder;
+    private final AttendanceReadModel attendanceReadModel;
+    private final AttendanceAccessPolicy attendanceAccessPolicy;
+    private final AttendanceVersions attendanceVersions;
+    // 직원별 마지막 오늘 조회의 버전, 날짜, 다음에 기록이 빠지는 시각. 조건부 GET 을 조회 없이 검증할 때 쓴다.
+    private final Cache<Integer, TodayState> todayStates = Caffeine.newBuilder()
+            .maximumSize(TODAY_STATE_CACHE_SIZE)
+            .expireAfterWrite(Duration.ofDays(1))
+            .build();
+
+    private record TodayState(String version, LocalDate date, Instant expiry) {
+        // 같은 버전, 같은 날이고 빠질 기록의 시각이 아직 지나지 않았으면 결과가 그대로다.
+        boolean isCurrent(String currentVersion, LocalDate today) {
+            return version.equals(currentVersion) && date.equals(today) && (expiry == null || Instant.now().isBefore(expiry));
+        }
+    }
 
-    public ResponseEntity<List<AttendanceDto>> getAttendanceList() {
+    public ResponseEntity<List<AttendanceDto>> getAttendanceList(LocalDate from, LocalDate to, int size, String cursor,
+                                                                 WebRequest webRequest) {
         try {
-            Map<String, Object> employeeInfo = feignClient.getHrInfo();
+            Map<String, Object> employeeInfo = hrInfoCache.getHrInfo();
             int hrId = (int) employeeInfo.get("id");
 
-            XmlRpcClient models = new XmlRpcClient();
-            XmlRpcClientConfigImpl config = new XmlRpcClientConfigImpl();
-            config.setServerURL(new URL(String.format("%s/xmlrpc/2/object", odooUrl)));
-            models.setConfig(config);
-
-            // 출퇴근 기록을 검색합니다.
-            Object[] attendanceRecords = (Object[]) models.execute(
-                    "execute_kw", Arrays.asList(
-                            odooDb, odooUid, odooPassword,
-                            "hr.attendance", "search_read",
-                            List.of(
-                                    List.of(
-                                            Arrays.asList("employee_id", "=", hrId) // 직원 ID
-                                    )
-                            ),
-                            Map.of("fields", Arrays.asList("check_in", "check_out", "worked_hours"))
-                    )
-            );
+            int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
 
-            log.info("attendanceRecords: {}", attendanceRecords);
-
-            // Object[]를 AttendanceDto 리스트로 변환
-            List<AttendanceDto> attendanceList = new ArrayList<>();
-            for (Object record : attendanceRecords) {
-                Map<String, Object> attendanceMap = (Map<String, Object>) record;
-                AttendanceDto dto = new AttendanceDto();
-                dto.setId((int) attendanceMap.get("id"));
-                dto.setEmployeeId(hrId);
-
-                Object checkIn = attendanceMap.get("check_in");
-                if (checkIn instanceof String) {
-                    dto.setCheckIn(Timestamp.valueOf((String) attendanceMap.get("check_in")));
-                } else {
-                    dto.setCheckIn(null);
+            AttendanceCursor after = null;
+            if (cursor != null && !cursor.isBlank()) {
+                try {
+                    after = AttendanceCursor.decode(cursor);
+                } catch (IllegalArgumentException e) {
+                    // 잘못된 커서만 400 으로 돌려준다. 그 밖의 IllegalArgumentException 은 서버 오류다.
+                    log.warn("Bad Request: invalid cursor: {}", e.getMessage());
+                    return ResponseEntity.badRequest().body(null);
                 }
+            }
 
-                Object checkOut = attendanceMap.get("check_out");
-                if (checkOut instanceof String) {
-                    dto.setCheckOut(Timestamp.valueOf((String) attendanceMap.get("check_out")));
-                } else {
-                    dto.setCheckOut(null);
-                }
+            // 기록이 바뀌지 않았으면 목록을 조회하거나 직렬화하지 않고 304 로 응답합니다.
+            String etag = etag(hrId, attendanceVersions.current(hrId), from, to, pageSize, cursor);
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+            }
 
-                Object workedHours = attendanceMap.get("worked_hours");
-                if (workedHours != null) {
-                    dto.setWorkHours((double) workedHours);
-                } else {
-                    dto.setWorkHours(0.0); // 또는 적절한 기본값으로 설정
-                }
-                attendanceList.add(dto);
+            // 기간과 커서 조건을 Odoo 도메인으로 내려서 필요한 페이지만 가져옵니다.
+            List<Object> domain = new ArrayList<>();
+            domain.add(Arrays.asList("employee_id", "=", hrId)); // 직원 ID
+            if (from != null) {
+                domain.add(Arrays.asList("check_in", ">=", attendanceRecordDecoder.toOdooUtc(from.atStartOfDay())));
+            }
+            if (to != null) {
+                domain.add(Arrays.asList("check_in", "<", attendanceRecordDecoder.toOdooUtc(to.plusDays(1).atStartOfDay())));
+            }
+            if (after != null) {
+                // (check_in, id) < (cursor.checkIn, cursor.id)
+                domain.add("|");
+                domain.add(Arrays.asList("check_in", "<", after.getCheckIn()));
+                domain.add("&");
+                domain.add(Arrays.asList("check_in", "=", after.getCheckIn()));
+                domain.add(Arrays.asList("id", "<", after.getId()));
             }
 
-            return ResponseEntity.status(HttpStatus.OK).body(attendanceList);
+            // 다음 페이지 존재 여부를 알기 위해 한 건 더 조회합니다. 로컬 사본이 최신이면 Odoo 를 거치지 않습니다.
+            List<AttendanceDto> attendanceList = attendanceReadModel.isServing()
+                    ? attendanceReadModel.find(hrId,
+                            from != null ? from.atStartOfDay(KST).toEpochSecond() : Long.MIN_VALUE,
+                            to != null ? to.plusDays(1).atStartOfDay(KST).toEpochSecond() : Long.MAX_VALUE,
+                            after, pageSize + 1, AttendanceRecordDecoder.Clock.UTC)
+                    : odooGateway.searchReadAttendance(
+                            OdooQuery.builder()
+                                    .domain(domain)
+                                    .order("check_in desc, id desc")
+                                    .limit(pageSize + 1)
+                                    .build(),
+                            hrId, AttendanceRecordDecoder.Clock.UTC
+                    );
+
+            log.info("attendanceRecords: {}", attendanceList.size());
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK).eTag(etag).cacheControl(REVALIDATE)
+                    // 다른 origin 의 프론트엔드가 다음 페이지 커서를 읽을 수 있게 한다.
+                    .header(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, NEXT_CURSOR_HEADER);
+            if (attendanceList.size() > pageSize) {
+                attendanceList = attendanceList.subList(0, pageSize);
+                AttendanceDto last = attendanceList.get(pageSize - 1);
+                String nextCursor = new AttendanceCursor(attendanceRecordDecoder.toOdooString(last.getCheckIn()), last.getId()).encode();
+                response.header(NEXT_CURSOR_HEADER, nextCursor);
+            }
+            return response.body(attendanceList);
+        } catch (OdooBulkheadFullException e) {
+            // Odoo 동시 호출 한도 초과
+            log.warn("Odoo Busy: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(null);
         } catch (FeignException.BadRequest e) {
             // 400 Bad Request 발생 시 처리
             System.out.println("Bad Request: " + e.getMessage());
@@ -103,38 +159,104 @@ public class AttendanceService {
         }
     }
 
-    public ResponseEntity<String> checkIn(AttendanceDto attendanceDto) {
+    public ResponseEntity<Map<Integer, List<AttendanceDto>>> getTeamAttendance(List<Integer> employeeIds, Integer departmentId,
+                                                                             LocalDate from, LocalDate to) {
         try {
-            Map<String, Object> employeeInfo = feignClient.getHrInfo();
+            Map<String, Object> employeeInfo = hrInfoCache.getHrInfo();
             int hrId = (int) employeeInfo.get("id");
 
-            XmlRpcClient models = new XmlRpcClient();
-            XmlRpcClientConfigImpl config = new XmlRpcClientConfigImpl();
-            config.setServerURL(new URL(String.format("%s/xmlrpc/2/object", odooUrl)));
-            models.setConfig(config);
+            if (from == null || to == null || to.isBefore(from) || from.plusDays(MAX_TEAM_RANGE_DAYS).isBefore(to)) {
+                return ResponseEntity.badRequest().body(null);
+            }
+
+            // 자기 부서와 직속 부하만 조회할 수 있다. 인사/관리자는 모든 직원.
+            AttendanceAccessPolicy.Caller caller = attendanceAccessPolicy.resolve(hrId);
+            if (departmentId != null && !attendanceAccessPolicy.canViewDepartment(caller, departmentId)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
+            }
+
+            Set<Integer> targetIds = new LinkedHashSet<>();
+            if (employeeIds != null) {
+                targetIds.addAll(employeeIds);
+            }
+            if (targetIds.size() > MAX_TEAM_SIZE) {
+                return ResponseEntity.badRequest().body(null);
+            }
+            if (!attendanceAccessPolicy.canViewEmployees(caller, targetIds)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
+            }
+            if (departmentId != null) {
+                targetIds.addAll(findDepartmentMembers(departmentId));
+            }
+            if (targetIds.isEmpty() || targetIds.size() > MAX_TEAM_SIZE) {
+                return ResponseEntity.badRequest().body(null);
+            }
+
+            String fromUtc = attendanceRecordDecoder.toOdooUtc(from.atStartOfDay());
+            String toUtc = attendanceRecordDecoder.toOdooUtc(to.plusDays(1).atStartOfDay());
+
+            // 직원 ID 를 나눠서 "in" 도메인 조회를 병렬로 실행합니다. 동시 호출 수는 벌크헤드가 제한합니다.
+            List<Integer> ids = new ArrayList<>(targetIds);
+            List<CompletableFuture<List<AttendanceDto>>> chunks = new ArrayList<>();
+            for (int start = 0; start < ids.size(); start += TEAM_CHUNK_SIZE) {
+                List<Integer> chunk = ids.subList(start, Math.min(start + TEAM_CHUNK_SIZE, ids.size()));
+                chunks.add(CompletableFuture.supplyAsync(() -> searchTeamChunk(chunk, fromUtc, toUtc), odooQueryExecutor));
+            }
+
+            Map<Integer, List<AttendanceDto>> attendanceByEmployee = new LinkedHashMap<>();
+            for (Integer id : ids) {
+                attendanceByEmployee.put(id, new ArrayList<>());
+            }
+            for (CompletableFuture<List<AttendanceDto>> chunk : chunks) {
+                for (AttendanceDto dto : joinChunk(chunk)) {
+                    attendanceByEmployee.get(dto.getEmployeeId()).add(dto);
+                }
+            }
+
+            return ResponseEntity.ok(attendanceByEmployee);
+        } catch (OdooBulkheadFullException e) {
+            // Odoo 동시 호출 한도 초과
+            log.warn("Odoo Busy: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(null);
+        } catch (FeignException.BadRequest e) {
+            // 400 Bad Request 발생 시 처리
+            log.warn("Bad Request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(null);
+        } catch (FeignException e) {
+            // 기타 FeignException 발생 시 처리
+            log.warn("Feign Exception: {}", e.getMessage());
+            return ResponseEntity.status(e.status()).body(null);
+        } catch (Exception e) {
+            // 일반 예외 처리
+            log.error("team attendance failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    public ResponseEntity<String> checkIn(AttendanceDto attendanceDto) {
+        try {
+            Map<String, Object> employeeInfo = hrInfoCache.getHrInfo();
+            int hrId = (int) employeeInfo.get("id");
 
             // 1. 현재 로컬 시스템의 LocalDateTime 가져오기
-            String utcCheckInTime = attendanceDto.getCheckIn().toLocalDateTime()
-                    .atZone(ZoneId.of("Asia/Seoul"))
-                    .withZoneSameInstant(ZoneId.of("UTC"))
-                    .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+            String utcCheckInTime = attendanceRecordDecoder.toOdooUtc(attendanceDto.getCheckIn().toLocalDateTime());
 
             System.out.println("로컬시스템의 시간 출력: " + attendanceDto.getCheckIn());
             System.out.println("로컬시스템의 시간을 utc 로 변경: " + utcCheckInTime);
 
-            // 출근 데이터를 Map으로 정의
-            Map<String, Object> attendanceData = new HashMap<>();
-            attendanceData.put("employee_id", hrId); // 직원 ID
-            attendanceData.put("check_in", utcCheckInTime); // 출근 시간
-
-            // Odoo 에서 'hr.attendance' 모델을 사용하여 출근 데이터 생성
-            int attendanceId = (int) models.execute("execute_kw", Arrays.asList(
-                    odooDb, odooUid, odooPassword,
-                    "hr.attendance", "create",
-                    List.of(attendanceData)
-            ));
+            if (attendanceJournal.isEnabled()) {
+                // 저널에 fsync 된 뒤 응답한다. Odoo 반영은 AttendanceJournalReplayer 가 한다.
+                AttendanceJournal.Entry entry = attendanceJournal.append(AttendanceJournal.Type.CHECK_IN, hrId, utcCheckInTime);
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(entry.key());
+            }
+
+            int attendanceId = attendancePunchWriter.checkIn(hrId, utcCheckInTime);
             return ResponseEntity.status(HttpStatus.OK).body(String.valueOf(attendanceId));
 //            return null;
+        } catch (OdooBulkheadFullException e) {
+            // Odoo 동시 호출 한도 초과
+            log.warn("Odoo Busy: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(null);
         } catch (FeignException.BadRequest e) {
             // 400 Bad Request 발생 시 처리
             System.out.println("Bad Request: " + e.getMessage());
@@ -152,75 +274,32 @@ public class AttendanceService {
 
     public ResponseEntity<String> checkOut(AttendanceDto attendanceDto) {
         try {
-            Map<String, Object> employeeInfo = feignClient.getHrInfo();
+            Map<String, Object> employeeInfo = hrInfoCache.getHrInfo();
             int hrId = (int) employeeInfo.get("id");
 
-            XmlRpcClient models = new XmlRpcClient();
-            XmlRpcClientConfigImpl config = new XmlRpcClientConfigImpl();
-            config.setServerURL(new URL(String.format("%s/xmlrpc/2/object", odooUrl)));
-            models.setConfig(config);
-
-            LocalDateTime checkOutTime = attendanceDto.getCheckOut().toLocalDateTime();
-            System.out.println(checkOutTime);
-
-            String utcCheckOutTime = attendanceDto.getCheckOut().toLocalDateTime()
-                    .atZone(ZoneId.of("Asia/Seoul"))
-                    .withZoneSameInstant(ZoneId.of("UTC"))
-                    .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+            String utcCheckOutTime = attendanceRecordDecoder.toOdooUtc(attendanceDto.getCheckOut().toLocalDateTime());
 
             System.out.println(utcCheckOutTime);
 
-            // 현재 로컬 시간을 UTC로 변환하여 시작과 끝 시간 정의
-            ZoneId systemZoneId = ZoneId.systemDefault();
-
-            // 하루의 시작 시간을 가져와 UTC로 변환
-            String formattedStartOfDayUtc = checkOutTime.toLocalDate().atStartOfDay().atZone(systemZoneId)
-                    .withZoneSameInstant(ZoneId.of("UTC"))
-                    .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-
-            // 하루의 끝 시간을 가져와 UTC로 변환
-            String formattedEndOfDayUtc = checkOutTime.toLocalDate().atTime(23, 59, 59, 999999999).atZone(systemZoneId)
-                    .withZoneSameInstant(ZoneId.of("UTC"))
-                    .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-
-            System.out.println(formattedStartOfDayUtc);
-            System.out.println(formattedEndOfDayUtc);
-
-            // 퇴근 시간을 업데이트할 출근 기록 ID를 찾습니다.
-            Object[] attendanceIds = (Object[]) models.execute("execute_kw", Arrays.asList(
-                    odooDb, odooUid, odooPassword,
-                    "hr.attendance", "search",
-                    List.of(Arrays.asList(
-                            Arrays.asList("employee_id", "=", hrId),  // 직원 ID
-//                            Arrays.asList("check_in", ">=", formattedStartOfDayUtc), // 특정 날짜의 출근 기록 검색
-//                            Arrays.asList("check_in", "<=", formattedEndOfDayUtc),
-                            Arrays.asList("check_out", "=", false) // 아직 퇴근 기록이 없는 것만 검색
-                    ))
-            ));
-
-            if (attendanceIds.length == 0) {
+            if (attendanceJournal.isEnabled()) {
+                // 열린 출근 기록이 없으면 재생 단계에서 dead-letter 로 남는다.
+                AttendanceJournal.Entry entry = attendanceJournal.append(AttendanceJournal.Type.CHECK_OUT, hrId, utcCheckOutTime);
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(entry.key());
+            }
+
+            Integer attendanceId = attendancePunchWriter.checkOut(hrId, utcCheckOutTime);
+            if (attendanceId == null) {
                 System.out.println("출근 기록을 찾을 수 없습니다.");
                 return ResponseEntity.badRequest().body("출근 기록을 찾을 수 없습니다.");
             }
 
-            int attendanceId = (int) attendanceIds[0]; // 검색된 첫 번째 ID 사용
-
-            // 찾은 출근 기록에 퇴근 시간 기록
-            Map<String, Object> updateData = new HashMap<>();
-            updateData.put("check_out", utcCheckOutTime); // 변환된 퇴근 시간 (UTC)
-
-            models.execute("execute_kw", Arrays.asList(
-                    odooDb, odooUid, odooPassword,
-                    "hr.attendance", "write",
-                    Arrays.asList(
-                            List.of(attendanceId), // 업데이트할 기록 ID
-                            updateData
-                    )
-            ));
-
             System.out.println("Attendance record updated with check-out time.");
 
-            return null;
+            return ResponseEntity.status(HttpStatus.OK).body(String.valueOf(attendanceId));
+        } catch (OdooBulkheadFullException e) {
+            // Odoo 동시 호출 한도 초과
+            log.warn("Odoo Busy: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(null);
         } catch (FeignException.BadRequest e) {
             // 400 Bad Request 발생 시 처리
             System.out.println("Bad Request: " + e.getMessage());
@@ -236,87 +315,41 @@ public class AttendanceService {
         }
     }
 
-    public ResponseEntity<?> getTodayCheckIn() {
+    public ResponseEntity<?> getTodayCheckIn(WebRequest webRequest) {
         try {
-            Map<String, Object> employeeInfo = feignClient.getHrInfo();
+            Map<String, Object> employeeInfo = hrInfoCache.getHrInfo();
             int hrId = (int) employeeInfo.get("id");
 
-            XmlRpcClient models = new XmlRpcClient();
-            XmlRpcClientConfigImpl config = new XmlRpcClientConfigImpl();
-            config.setServerURL(new URL(String.format("%s/xmlrpc/2/object", odooUrl)));
-            models.setConfig(config);
-
-            // 오늘과 어제 날짜
-            LocalDate today = LocalDate.now(ZoneId.of("Asia/Seoul"));
-            LocalDate yesterday = today.minusDays(1);
-
-            // Odoo에서 출퇴근 기록 조회
-            Object[] records = (Object[]) models.execute(
-                    "execute_kw", Arrays.asList(
-                            odooDb, odooUid, odooPassword,
-                            "hr.attendance", "search_read",
-                            List.of(
-                                    List.of(
-                                            Arrays.asList("employee_id", "=", hrId),
-                                            Arrays.asList("check_in", "!=", false) // 출근 기록 존재
-                                    )
-                            ),
-                            Map.of("fields", Arrays.asList("check_in", "check_out", "worked_hours"))
-                    )
-            );
-
-            List<AttendanceDto> attendanceList = new ArrayList<>();
-            for (Object record : records) {
-                Map<String, Object> attendanceMap = (Map<String, Object>) record;
-                AttendanceDto dto = new AttendanceDto();
-                dto.setId((int) attendanceMap.get("id"));
-                dto.setEmployeeId(hrId);
-
-                // 출근 시간 (UTC -> KST 변환)
-                Timestamp checkInUtc = Timestamp.valueOf((String) attendanceMap.get("check_in"));
-                LocalDateTime checkInKst = convertUtcToKst(checkInUtc);
-                dto.setCheckIn(Timestamp.valueOf(checkInKst));
-
-                // 퇴근 시간 (UTC -> KST 변환), 퇴근 기록이 있을 경우
-                LocalDateTime checkOutKst = null;  // 변수 초기화
-                if (attendanceMap.get("check_out") instanceof String) {
-                    Timestamp checkOutUtc = Timestamp.valueOf((String) attendanceMap.get("check_out"));
-                    checkOutKst = convertUtcToKst(checkOutUtc);
-                    dto.setCheckOut(Timestamp.valueOf(checkOutKst));
-                } else {
-                    dto.setCheckOut(null); // 퇴근 기록이 없을 경우
-                }
-
-                System.out.println("checkInKst: "+checkInKst);
-                System.out.println("checkInUtc: "+checkInUtc);
-                System.out.println(checkOutKst);
-
-                // 1. 오늘이 출근/퇴근일 경우
-                if (checkInKst.toLocalDate().isEqual(today) && dto.getCheckOut() != null) {
-                    attendanceList.add(dto); // 출퇴근 기록 모두 출력
-                }
-
-                // 2. 출근일이 어제고 퇴근일이 오늘 새벽일 경우
-                if (checkInKst.toLocalDate().isEqual(yesterday) && checkOutKst != null) {
-                    LocalDateTime oneHourAgo = LocalDateTime.now(ZoneId.of("Asia/Seoul")).minusHours(1);
-                    if (checkOutKst.isAfter(oneHourAgo)) {
-                        attendanceList.add(dto); // 퇴근 시간이 한 시간 이내일 경우에만 출력
-                    }
+            // 결과는 기록과 시각(오늘 날짜, 어제 출근 기록의 퇴근 후 한 시간)으로 정해지므로, 버전, 날짜, 다음에 기록이 빠지는 시각으로 ETag 를 만듭니다.
+            // 버전은 기록보다 먼저 읽습니다. 그 사이에 바뀐 기록은 다음 요청에서 버전이 달라 다시 조회됩니다.
+            String version = attendanceVersions.current(hrId);
+            LocalDate today = LocalDate.now(KST);
+            TodayState known = todayStates.getIfPresent(hrId);
+            if (known != null && known.isCurrent(version, today)) {
+                // 지난번 조회 뒤로 바뀐 것이 없으면 기록을 다시 조회하지 않고 검증합니다.
+                String etag = etag(hrId, "t" + version, today, known.expiry());
+                if (webRequest.checkNotModified(etag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
                 }
+            }
 
-                // 3. 출근일이 어제, 퇴근일이 어제인 경우는 출력하지 않음
-
-                // 4. 오늘 출근만 했을 경우 (퇴근 기록 없음)
-                if (checkInKst.toLocalDate().isEqual(today) && dto.getCheckOut() == null) {
-                    attendanceList.add(dto); // 출근 기록만 출력
-                }
+            List<AttendanceDto> attendanceList = findTodayAttendance(hrId);
+            Instant expiry = todayExpiry(attendanceList);
+            todayStates.put(hrId, new TodayState(version, today, expiry));
+            String etag = etag(hrId, "t" + version, today, expiry);
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
             }
 
             if (attendanceList.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.NO_CONTENT).body(null); // 아무 기록도 없을 경우
+                return ResponseEntity.status(HttpStatus.NO_CONTENT).eTag(etag).cacheControl(REVALIDATE).body(null); // 아무 기록도 없을 경우
             } else {
-                return ResponseEntity.ok(attendanceList); // 출퇴근 기록 반환
+                return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(attendanceList); // 출퇴근 기록 반환
             }
+        } catch (OdooBulkheadFullException e) {
+            // Odoo 동시 호출 한도 초과
+            log.warn("Odoo Busy: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(null);
         } catch (FeignException.BadRequest e) {
             // 400 Bad Request 발생 시 처리
             System.out.println("Bad Request: " + e.getMessage());
@@ -332,10 +365,129 @@ public class AttendanceService {
         }
     }
 
-    public LocalDateTime convertUtcToKst(Timestamp utcTime) {
-        ZonedDateTime utcZonedDateTime = utcTime.toInstant().atZone(ZoneId.of("UTC"));
-        ZonedDateTime kstZonedDateTime = utcZonedDateTime.withZoneSameInstant(ZoneId.of("Asia/Seoul"));
-        return kstZonedDateTime.toLocalDateTime();
+    /**
+     * 오늘 화면에 보여 줄 출퇴근 기록 (KST). 오늘 출근한 기록과, 어제 출근해서 한 시간 안에 퇴근한 기록.
+     * 조회하면서 열린 근무 인덱스도 맞춘다. SSE 상태 전송도 같은 결과를 쓴다.
+     */
+    public List<AttendanceDto> findTodayAttendance(int hrId) throws OdooException {
+        // 오늘과 어제 날짜
+        LocalDate today = LocalDate.now(KST);
+        LocalDate yesterday = today.minusDays(1);
+
+        // 어제 00시(KST)부터 오늘 24시(KST)까지의 출퇴근 기록만 조회 (로컬 사본이 최신이면 사본에서)
+        List<AttendanceDto> records = attendanceReadModel.isServing()
+                ? attendanceReadModel.find(hrId,
+                        yesterday.atStartOfDay(KST).toEpochSecond(),
+                        today.plusDays(1).atStartOfDay(KST).toEpochSecond(),
+                        null, TODAY_RECORD_LIMIT, AttendanceRecordDecoder.Clock.KST)
+                : odooGateway.searchReadAttendance(
+                        OdooQuery.builder()
+                                .domain(List.of(
+                                        Arrays.asList("employee_id", "=", hrId),
+                                        Arrays.asList("check_in", ">=", attendanceRecordDecoder.toOdooUtc(yesterday.atStartOfDay())),
+                                        Arrays.asList("check_in", "<", attendanceRecordDecoder.toOdooUtc(today.plusDays(1).atStartOfDay()))
+                                ))
+                                .order("check_in desc, id desc")
+                                .limit(TODAY_RECORD_LIMIT)
+                                .build(),
+                        hrId, AttendanceRecordDecoder.Clock.KST
+                );
+
+        List<AttendanceDto> attendanceList = new ArrayList<>();
+        boolean openShiftSeen = false;
+        for (AttendanceDto dto : records) {
+            LocalDateTime checkInKst = dto.getCheckIn().toLocalDateTime();
+            LocalDateTime checkOutKst = dto.getCheckOut() != null ? dto.getCheckOut().toLocalDateTime() : null;
+
+            // 조회 결과로 열린 근무 인덱스를 맞춰 둔다. 최신순이므로 첫 번째 열린 기록만 사용한다.
+            if (dto.getCheckOut() == null) {
+                if (!openShiftSeen) {
+                    openShiftIndex.put(hrId, dto.getId());
+                    openShiftSeen = true;
+                }
+            } else {
+                openShiftIndex.remove(hrId, dto.getId());
+            }
+
+            log.debug("checkInKst: {}, checkOutKst: {}", checkInKst, checkOutKst);
+
+            // 1. 오늘이 출근/퇴근일 경우
+            if (checkInKst.toLocalDate().isEqual(today) && dto.getCheckOut() != null) {
+                attendanceList.add(dto); // 출퇴근 기록 모두 출력
+            }
+
+            // 2. 출근일이 어제고 퇴근일이 오늘 새벽일 경우
+            if (checkInKst.toLocalDate().isEqual(yesterday) && checkOutKst != null) {
+                LocalDateTime oneHourAgo = LocalDateTime.now(KST).minusHours(1);
+                if (checkOutKst.isAfter(oneHourAgo)) {
+                    attendanceList.add(dto); // 퇴근 시간이 한 시간 이내일 경우에만 출력
+                }
+            }
+
+            // 3. 출근일이 어제, 퇴근일이 어제인 경우는 출력하지 않음
+
+            // 4. 오늘 출근만 했을 경우 (퇴근 기록 없음)
+            if (checkInKst.toLocalDate().isEqual(today) && dto.getCheckOut() == null) {
+                attendanceList.add(dto); // 출근 기록만 출력
+            }
+        }
+        return attendanceList;
+    }
+
+    /**
+     * findTodayAttendance 결과에서 기록이 바뀌지 않아도 빠지는 행(어제 출근, 퇴근 후 한 시간)이 처음 빠지는 시각.
+     * 그런 행이 없으면 null. 자정에 바뀌는 것은 포함하지 않는다.
+     */
+    public Instant todayExpiry(List<AttendanceDto> attendanceList) {
+        LocalDate today = LocalDate.now(KST);
+        Instant expiry = null;
+        for (AttendanceDto dto : attendanceList) {
+            if (dto.getCheckOut() != null && dto.getCheckIn().toLocalDateTime().toLocalDate().isBefore(today)) {
+                Instant hidden = dto.getCheckOut().toLocalDateTime().plusHours(1).atZone(KST).toInstant();
+                expiry = expiry == null || hidden.isBefore(expiry) ? hidden : expiry;
+            }
+        }
+        return expiry;
     }
-}
 
+    // 버전은 그대로 두고, 응답을 결정하는 나머지 값(조회 조건, 시각)만 해시로 붙여 약한 ETag 로 만든다.
+    private String etag(int hrId, String version, Object... parts) {
+        return "W/\"" + hrId + "-" + version + "-" + Integer.toHexString(Arrays.hashCode(parts)) + "\"";
+    }
+
+    private List<Integer> findDepartmentMembers(int departmentId) throws OdooException {
+        return odooGateway.search("hr.employee", OdooQuery.builder()
+                .domain(List.of(Arrays.asList("department_id", "=", departmentId)))
+                .build());
+    }
+
+    private List<AttendanceDto> searchTeamChunk(List<Integer> employeeIds, String fromUtc, String toUtc) {
+        try {
+            return odooGateway.searchReadAttendance(
+                    OdooQuery.builder()
+                            .domain(List.of(
+                                    Arrays.asList("employee_id", "in", employeeIds),
+                                    Arrays.asList("check_in", ">=", fromUtc),
+                                    Arrays.asList("check_in", "<", toUtc)
+                            ))
+                            .order("check_in desc, id desc")
+                            .build(),
+                    null, AttendanceRecordDecoder.Clock.UTC
+            );
+        } catch (OdooException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    // 병렬 조회의 예외를 원래 타입으로 꺼내서 호출부의 catch 가 그대로 동작하게 한다.
+    private List<AttendanceDto> joinChunk(CompletableFuture<List<AttendanceDto>> chunk) throws Exception {
+        try {
+            return chunk.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
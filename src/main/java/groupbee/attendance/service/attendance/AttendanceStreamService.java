@@ -0,0 +1,331 @@
+package groupbee.attendance.service.attendance;
+
+import feign.FeignException;
+import groupbee.attendance.config.AttendanceStreamProperties;
+import groupbee.attendance.dto.AttendanceDto;
+import groupbee.attendance.service.feign.HrInfoCache;
+import groupbee.attendance.service.odoo.OdooBulkheadFullException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 오늘 출퇴근 상태를 SSE 로 보낸다. 연결 시 한 번 보내고, AttendanceChangedEvent 가 오면 그 직원의 연결에만 다시 보낸다.
+ * 어제 기록이 퇴근 후 한 시간이 지나 빠지는 시각과 자정에도 다시 보낸다.
+ * SseEmitter 는 서블릿 비동기 요청이라 연결을 유지하는 동안 요청 스레드를 잡고 있지 않는다.
+ * emitter.send 는 소켓 버퍼가 찰 때 막히는 쓰기이므로 연결마다 따로 보내고, 한 연결에는 한 번에 한 스레드만 쓴다.
+ * sendTimeout 을 넘겨 막힌 연결은 목록에서 빼므로 더 이상 스레드를 잡지 않고, 다른 연결의 전송은 늦어지지 않는다.
+ * 느린 클라이언트가 있어도 공용 스케줄러(로컬 사본 동기화, 저널)와 Odoo 조회 풀은 영향을 받지 않는다.
+ */
+@Slf4j
+@Service
+@EnableScheduling
+@EnableConfigurationProperties(AttendanceStreamProperties.class)
+public class AttendanceStreamService {
+    private static final String STATUS_EVENT = "status";
+
+    private final HrInfoCache hrInfoCache;
+    private final AttendanceService attendanceService;
+    private final AttendanceStreamProperties attendanceStreamProperties;
+    // 상태 조회와 SSE 쓰기. 막힌 연결이 스레드를 하나씩 잡을 수 있으므로 고정 크기로 두지 않는다.
+    private final ExecutorService sender;
+    // heartbeat, 막힌 연결 확인, 기록이 빠지는 시각의 재전송
+    private final ScheduledExecutorService scheduler;
+    // 직원 ID -> 연결 (오래된 순)
+    private final Map<Integer, Deque<Connection>> emitters = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    // 같은 직원의 변경이 몰리면 아직 실행되지 않은 전송 하나로 합친다.
+    private final Set<Integer> pendingPushes = ConcurrentHashMap.newKeySet();
+    // 직원 ID -> 어제 기록이 빠지는 시각에 예약한 재전송
+    private final Map<Integer, ScheduledFuture<?>> expiryPushes = new ConcurrentHashMap<>();
+
+    public AttendanceStreamService(HrInfoCache hrInfoCache, AttendanceService attendanceService,
+                                   AttendanceStreamProperties attendanceStreamProperties, MeterRegistry meterRegistry) {
+        this.hrInfoCache = hrInfoCache;
+        this.attendanceService = attendanceService;
+        this.attendanceStreamProperties = attendanceStreamProperties;
+        AtomicInteger sequence = new AtomicInteger();
+        this.sender = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "attendance-stream-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "attendance-stream-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("attendance.stream.connections", connections, AtomicInteger::get)
+                .description("열려 있는 출퇴근 상태 SSE 연결 수")
+                .register(meterRegistry);
+    }
+
+    public ResponseEntity<SseEmitter> subscribe() {
+        try {
+            Map<String, Object> employeeInfo = hrInfoCache.getHrInfo();
+            int hrId = (int) employeeInfo.get("id");
+
+            if (connections.get() >= attendanceStreamProperties.getMaxConnections()) {
+                log.warn("attendance stream connections full: {}", connections.get());
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(null);
+            }
+
+            List<AttendanceDto> status = attendanceService.findTodayAttendance(hrId);
+
+            SseEmitter emitter = new SseEmitter(attendanceStreamProperties.getTimeout().toMillis());
+            Connection connection = register(hrId, emitter);
+            // 핸들러가 반환되기 전에 보낸 이벤트는 연결이 준비될 때까지 버퍼에 남았다가 바로 나간다. 막히지 않으므로 여기서 보낸다.
+            try {
+                emitter.send(statusEvent(status)
+                        .reconnectTime(attendanceStreamProperties.getReconnectDelay().toMillis()));
+            } catch (IOException | IllegalStateException e) {
+                unregister(connection);
+            }
+            scheduleExpiryPush(hrId, status);
+            return ResponseEntity.ok()
+                    .header("X-Accel-Buffering", "no") // 리버스 프록시가 이벤트를 모아 두지 않게 한다.
+                    .body(emitter);
+        } catch (OdooBulkheadFullException e) {
+            // Odoo 동시 호출 한도 초과
+            log.warn("Odoo Busy: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(null);
+        } catch (FeignException.BadRequest e) {
+            // 400 Bad Request 발생 시 처리
+            log.warn("Bad Request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(null);
+        } catch (FeignException e) {
+            // 기타 FeignException 발생 시 처리
+            log.warn("Feign Exception: {}", e.getMessage());
+            return ResponseEntity.status(e.status()).body(null);
+        } catch (Exception e) {
+            // 일반 예외 처리
+            log.error("attendance stream subscribe failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @PostConstruct
+    public void startHeartbeat() {
+        long interval = attendanceStreamProperties.getHeartbeatInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    // 발행한 스레드(요청, 저널 재생, 동기화)에서는 연결 여부만 보고, 조회와 전송은 스트림 전용 스레드에서 한다.
+    @EventListener
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        int employeeId = event.employeeId();
+        if (emitters.containsKey(employeeId) && pendingPushes.add(employeeId)) {
+            sender.execute(() -> {
+                pendingPushes.remove(employeeId);
+                push(employeeId);
+            });
+        }
+    }
+
+    // 연결마다 따로 보낸다. 이전 전송이 sendTimeout 을 넘겨 아직 끝나지 않은 연결은 막힌 것으로 보고 닫는다.
+    private void heartbeat() {
+        try {
+            long timeoutNanos = attendanceStreamProperties.getSendTimeout().toNanos();
+            long now = System.nanoTime();
+            emitters.values().forEach(connected -> connected.forEach(connection -> {
+                if (connection.sending.get() && now - connection.sendStartedNanos > timeoutNanos) {
+                    log.warn("attendance stream send stuck for employee {}, closing connection", connection.employeeId);
+                    unregister(connection);
+                    // complete 는 막힌 send 가 끝나기를 기다릴 수 있으므로 이 스레드에서 부르지 않는다.
+                    sender.execute(connection.emitter::complete);
+                    return;
+                }
+                connection.pendingHeartbeat = true;
+                dispatch(connection);
+            }));
+        } catch (RuntimeException e) {
+            // 예외가 나가면 ScheduledExecutorService 가 다음 실행을 취소한다.
+            log.warn("attendance stream heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    // 날짜가 바뀌면 기록이 바뀌지 않아도 오늘 상태가 달라진다.
+    @Scheduled(cron = "0 0 0 * * *", zone = "Asia/Seoul")
+    public void refreshAll() {
+        for (int employeeId : emitters.keySet()) {
+            onAttendanceChanged(new AttendanceChangedEvent(employeeId));
+        }
+    }
+
+    // 종료 시 연결을 닫아서 클라이언트가 다른 인스턴스로 다시 연결하게 한다.
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        sender.shutdownNow();
+        emitters.values().forEach(connected -> connected.forEach(connection -> connection.emitter.complete()));
+    }
+
+    private void push(int employeeId) {
+        Deque<Connection> connected = emitters.get(employeeId);
+        if (connected == null) {
+            return;
+        }
+        List<AttendanceDto> status;
+        try {
+            status = attendanceService.findTodayAttendance(employeeId);
+        } catch (Exception e) {
+            // 다음 변경이나 재연결 때 다시 보낸다.
+            log.warn("attendance stream push failed for employee {}: {}", employeeId, e.getMessage());
+            return;
+        }
+        for (Connection connection : connected) {
+            connection.pendingStatus.set(status);
+            dispatch(connection);
+        }
+        scheduleExpiryPush(employeeId, status);
+    }
+
+    // 어제 기록이 퇴근 후 한 시간이 지나 화면에서 빠지는 시각에 다시 보낸다. 그 전에 다시 보내면 새 결과로 다시 예약한다.
+    private void scheduleExpiryPush(int employeeId, List<AttendanceDto> status) {
+        Instant expiry = attendanceService.todayExpiry(status);
+        expiryPushes.compute(employeeId, (id, previous) -> {
+            if (previous != null) {
+                previous.cancel(false);
+            }
+            if (expiry == null || !emitters.containsKey(id)) {
+                return null;
+            }
+            // 경계 바로 뒤에 조회해야 그 행이 빠진다.
+            long delay = Math.max(0, Duration.between(Instant.now(), expiry).toMillis()) + 1000;
+            return scheduler.schedule(() -> {
+                expiryPushes.remove(id);
+                onAttendanceChanged(new AttendanceChangedEvent(id));
+            }, delay, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    private SseEmitter.SseEventBuilder statusEvent(List<AttendanceDto> status) {
+        return SseEmitter.event().name(STATUS_EVENT).data(status, MediaType.APPLICATION_JSON);
+    }
+
+    // 연결에 쓰는 스레드가 없을 때만 새로 맡긴다. 쓰고 있는 스레드가 남은 이벤트를 이어서 보낸다.
+    private void dispatch(Connection connection) {
+        if (connection.sending.compareAndSet(false, true)) {
+            connection.sendStartedNanos = System.nanoTime();
+            sender.execute(() -> drain(connection));
+        }
+    }
+
+    private void drain(Connection connection) {
+        do {
+            try {
+                while (connection.hasPending()) {
+                    connection.sendStartedNanos = System.nanoTime();
+                    List<AttendanceDto> status = connection.pendingStatus.getAndSet(null);
+                    connection.pendingHeartbeat = false;
+                    // SseEventBuilder 는 한 번만 build 할 수 있어서 보낼 때마다 새로 만든다.
+                    if (!send(connection, status != null ? statusEvent(status) : SseEmitter.event().comment("heartbeat"))) {
+                        return;
+                    }
+                }
+            } finally {
+                connection.sending.set(false);
+            }
+            // 내려놓는 사이에 들어온 이벤트는 다른 스레드가 맡지 않았을 때만 이어서 보낸다.
+        } while (connection.hasPending() && connection.sending.compareAndSet(false, true));
+    }
+
+    private boolean send(Connection connection, SseEmitter.SseEventBuilder event) {
+        try {
+            connection.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // 끊긴 연결. 서블릿 컨테이너가 오류를 알려 주므로 목록에서만 뺀다.
+            unregister(connection);
+            return false;
+        }
+    }
+
+    private Connection register(int employeeId, SseEmitter emitter) {
+        Connection connection = new Connection(employeeId, emitter);
+        emitter.onCompletion(() -> unregister(connection));
+        emitter.onTimeout(() -> unregister(connection));
+        emitter.onError(e -> unregister(connection));
+
+        List<SseEmitter> evicted = new ArrayList<>();
+        emitters.compute(employeeId, (id, connected) -> {
+            Deque<Connection> target = connected != null ? connected : new ConcurrentLinkedDeque<>();
+            target.addLast(connection);
+            connections.incrementAndGet();
+            // 탭을 닫지 않고 쌓인 오래된 연결부터 닫는다.
+            while (target.size() > attendanceStreamProperties.getMaxConnectionsPerEmployee()) {
+                Connection oldest = target.pollFirst();
+                connections.decrementAndGet();
+                evicted.add(oldest.emitter);
+            }
+            return target;
+        });
+        // complete 의 콜백이 같은 키를 다시 compute 하므로 compute 밖에서 닫는다.
+        evicted.forEach(SseEmitter::complete);
+        return connection;
+    }
+
+    private void unregister(Connection connection) {
+        Deque<Connection> remaining = emitters.computeIfPresent(connection.employeeId, (id, connected) -> {
+            if (connected.remove(connection)) {
+                connections.decrementAndGet();
+            }
+            return connected.isEmpty() ? null : connected;
+        });
+        if (remaining == null) {
+            ScheduledFuture<?> expiryPush = expiryPushes.remove(connection.employeeId);
+            if (expiryPush != null) {
+                expiryPush.cancel(false);
+            }
+        }
+    }
+
+    // 연결 하나와 아직 보내지 않은 이벤트. 상태는 가장 최근 것만 남긴다.
+    private static final class Connection {
+        private final int employeeId;
+        private final SseEmitter emitter;
+        private final AtomicReference<List<AttendanceDto>> pendingStatus = new AtomicReference<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean pendingHeartbeat;
+        private volatile long sendStartedNanos;
+
+        private Connection(int employeeId, SseEmitter emitter) {
+            this.employeeId = employeeId;
+            this.emitter = emitter;
+        }
+
+        private boolean hasPending() {
+            return pendingStatus.get() != null || pendingHeartbeat;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package groupbee.attendance.service.attendance;
+
+import feign.FeignException;
+import groupbee.attendance.dto.AttendanceSummaryDto;
+import groupbee.attendance.service.feign.HrInfoCache;
+import groupbee.attendance.service.odoo.AttendanceRecordDecoder;
+import groupbee.attendance.service.odoo.OdooBulkheadFullException;
+import groupbee.attendance.service.odoo.OdooException;
+import groupbee.attendance.service.odoo.OdooGateway;
+import groupbee.attendance.service.odoo.OdooQuery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * 기간(일/주/월)별 근무 시간 합계와 출근 건수. 합계는 Odoo read_group 으로 계산하고,
+ * 끝난 기간은 AttendanceRollupCache 에 보관해서 진행 중인 기간만 다시 집계한다.
+ * 퇴근하지 않은 출근이 있는 기간은 근무 시간이 아직 0 이므로 끝났어도 보관하지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendanceSummaryService {
+    private static final int MAX_SUMMARY_PERIODS = 400;
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final Map<String, Object> KST_CONTEXT = Map.of("tz", KST.getId());
+
+    private final HrInfoCache hrInfoCache;
+    private final OdooGateway odooGateway;
+    private final AttendanceRecordDecoder attendanceRecordDecoder;
+    private final AttendanceRollupCache attendanceRollupCache;
+    private final AttendanceVersions attendanceVersions;
+
+    /**
+     * from~to 가 걸친 기간들의 요약을 오래된 순으로 반환한다. 범위는 기간 경계에 맞춰 바깥으로 넓힌다.
+     */
+    public ResponseEntity<List<AttendanceSummaryDto>> getSummary(String period, LocalDate from, LocalDate to) {
+        try {
+            Map<String, Object> employeeInfo = hrInfoCache.getHrInfo();
+            int hrId = (int) employeeInfo.get("id");
+
+            SummaryPeriod summaryPeriod = SummaryPeriod.from(period);
+            if (from == null || to == null || to.isBefore(from)) {
+                return ResponseEntity.badRequest().body(null);
+            }
+            List<LocalDate> starts = new ArrayList<>();
+            for (LocalDate start = summaryPeriod.start(from); !start.isAfter(to); start = summaryPeriod.next(start)) {
+                starts.add(start);
+                if (starts.size() > MAX_SUMMARY_PERIODS) {
+                    return ResponseEntity.badRequest().body(null);
+                }
+            }
+
+            LocalDate today = LocalDate.now(KST);
+            // 집계보다 먼저 버전을 읽는다. 그 사이에 바뀐 기록은 다음 조회에서 버전이 달라 버려진다.
+            AttendanceRollupCache.Rollups rollups = attendanceRollupCache.forEmployee(hrId, attendanceVersions.current(hrId));
+
+            // 캐시에 없는 끝난 기간과 진행 중인 기간을 한 번의 read_group 으로 집계한다. 미래 기간은 조회하지 않는다.
+            Map<LocalDate, AttendanceSummaryDto> summaries = new HashMap<>();
+            LocalDate queryFrom = null;
+            LocalDate queryTo = null;
+            for (LocalDate start : starts) {
+                AttendanceSummaryDto cached = rollups.get(summaryPeriod, start);
+                if (cached != null) {
+                    summaries.put(start, cached);
+                } else if (!start.isAfter(today)) {
+                    queryFrom = queryFrom == null ? start : queryFrom;
+                    queryTo = summaryPeriod.next(start);
+                }
+            }
+            Map<LocalDate, double[]> totals = queryFrom == null
+                    ? Map.of()
+                    : readGroup(hrId, summaryPeriod, queryFrom, queryTo);
+            LocalDate openFrom = queryFrom == null ? null : oldestOpenCheckIn(hrId);
+
+            List<AttendanceSummaryDto> result = new ArrayList<>(starts.size());
+            for (LocalDate start : starts) {
+                AttendanceSummaryDto summary = summaries.get(start);
+                if (summary == null) {
+                    LocalDate end = summaryPeriod.next(start);
+                    double[] total = totals.getOrDefault(start, new double[2]);
+                    summary = AttendanceSummaryDto.builder()
+                            .period(summaryPeriod.name().toLowerCase(Locale.ROOT))
+                            .periodStart(start)
+                            .periodEnd(end)
+                            .workHours(total[0])
+                            .count((int) total[1])
+                            .completed(!end.isAfter(today))
+                            .build();
+                    if (openFrom == null || !end.isAfter(openFrom)) {
+                        rollups.put(summaryPeriod, summary);
+                    }
+                }
+                result.add(summary);
+            }
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            log.warn("Bad Request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(null);
+        } catch (OdooBulkheadFullException e) {
+            // Odoo 동시 호출 한도 초과
+            log.warn("Odoo Busy: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(null);
+        } catch (FeignException.BadRequest e) {
+            // 400 Bad Request 발생 시 처리
+            log.warn("Bad Request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(null);
+        } catch (FeignException e) {
+            // 기타 FeignException 발생 시 처리
+            log.warn("Feign Exception: {}", e.getMessage());
+            return ResponseEntity.status(e.status()).body(null);
+        } catch (Exception e) {
+            // 일반 예외 처리
+            log.error("attendance summary failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    // 기간 첫날 -> {근무 시간 합계, 건수}
+    private Map<LocalDate, double[]> readGroup(int hrId, SummaryPeriod period, LocalDate from, LocalDate to)
+            throws OdooException {
+        List<Map<String, Object>> groups = odooGateway.readGroup(
+                OdooGateway.ATTENDANCE_MODEL,
+                List.of(
+                        Arrays.asList("employee_id", "=", hrId),
+                        Arrays.asList("check_in", ">=", attendanceRecordDecoder.toOdooUtc(from.atStartOfDay())),
+                        Arrays.asList("check_in", "<", attendanceRecordDecoder.toOdooUtc(to.atStartOfDay()))
+                ),
+                List.of("worked_hours:sum"),
+                List.of(period.odooGroupBy("check_in")),
+                KST_CONTEXT
+        );
+
+        Map<LocalDate, double[]> totals = new HashMap<>();
+        for (Map<String, Object> group : groups) {
+            // 그룹 라벨은 로케일마다 형식이 달라서, __domain 에 들어 있는 check_in 하한(UTC)으로 기간을 정한다.
+            String lowerBound = findCheckInLowerBound(group.get("__domain"));
+            if (lowerBound == null) {
+                log.warn("read_group row without check_in bound: {}", group);
+                continue;
+            }
+            LocalDate start = period.start(attendanceRecordDecoder
+                    .parseTimestamp(lowerBound, AttendanceRecordDecoder.Clock.KST)
+                    .toLocalDateTime().toLocalDate());
+            double[] total = totals.computeIfAbsent(start, key -> new double[2]);
+            total[0] += group.get("worked_hours") instanceof Number hours ? hours.doubleValue() : 0.0;
+            total[1] += group.get("__count") instanceof Number count ? count.doubleValue() : 0.0;
+        }
+        return totals;
+    }
+
+    // 아직 퇴근하지 않은 가장 오래된 출근의 KST 날짜. 이 날 이후가 끝나는 기간은 퇴근하면 근무 시간이 바뀐다.
+    private LocalDate oldestOpenCheckIn(int hrId) throws OdooException {
+        List<Map<String, Object>> records = odooGateway.searchRead(OdooGateway.ATTENDANCE_MODEL, OdooQuery.builder()
+                .domain(List.of(
+                        Arrays.asList("employee_id", "=", hrId),
+                        Arrays.asList("check_out", "=", false)
+                ))
+                .fields(List.of("check_in"))
+                .order("check_in asc")
+                .limit(1)
+                .build());
+        if (records.isEmpty() || !(records.get(0).get("check_in") instanceof String checkIn)) {
+            return null;
+        }
+        return attendanceRecordDecoder.parseTimestamp(checkIn, AttendanceRecordDecoder.Clock.KST)
+                .toLocalDateTime().toLocalDate();
+    }
+
+    // __domain 은 그룹 조건과 요청 도메인을 AND 로 묶은 것이라 check_in 하한이 여러 개 있다. 가장 늦은 값이 그룹 경계다.
+    // XML-RPC 는 Object[], JSON-RPC 는 List 로 도메인을 돌려준다.
+    private String findCheckInLowerBound(Object domain) {
+        String lowerBound = null;
+        for (Object term : asList(domain)) {
+            List<?> leaf = asList(term);
+            if (leaf.size() == 3 && "check_in".equals(leaf.get(0)) && ">=".equals(leaf.get(1))
+                    && leaf.get(2) instanceof String bound
+                    && (lowerBound == null || bound.compareTo(lowerBound) > 0)) {
+                lowerBound = bound;
+            }
+        }
+        return lowerBound;
+    }
+
+    private List<?> asList(Object value) {
+        if (value instanceof Object[] array) {
+            return Arrays.asList(array);
+        }
+        if (value instanceof List<?> list) {
+            return list;
+        }
+        return List.of();
+    }
+}
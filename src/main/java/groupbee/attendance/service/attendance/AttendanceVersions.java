@@ -0,0 +1,44 @@
+package groupbee.attendance.service.attendance;
+
+import groupbee.attendance.service.odoo.AttendanceRecordDecoder;
+import groupbee.attendance.service.odoo.OdooException;
+import groupbee.attendance.service.odoo.OdooGateway;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 직원의 근태 기록이 바뀔 때마다 달라지는 값. 조건부 GET 의 ETag 와 요약 캐시 검증에 쓴다.
+ * 다른 인스턴스나 Odoo 화면에서 고친 기록도 드러나야 하므로 이 인스턴스의 쓰기만으로 만들지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AttendanceVersions {
+    // Odoo 에서 읽을 때의 집계. 생성/삭제는 건수, 퇴근 기록은 근무 시간 합계, 그 밖의 수정은 write_date 로 드러난다.
+    private static final List<String> VERSION_FIELDS = List.of("write_date:max", "worked_hours:sum");
+
+    private final OdooGateway odooGateway;
+    private final AttendanceReadModel attendanceReadModel;
+
+    /**
+     * 로컬 사본이 최신이면 사본의 변경 번호를 쓰고,
+     * 아니면 read_group 한 번으로 마지막 write_date, 근무 시간 합계, 건수만 읽는다.
+     */
+    public String current(int hrId) throws OdooException {
+        if (attendanceReadModel.isServing()) {
+            return "r" + attendanceReadModel.version(hrId);
+        }
+        List<Map<String, Object>> groups = odooGateway.readGroup(OdooGateway.ATTENDANCE_MODEL,
+                List.of(Arrays.asList("employee_id", "=", hrId)), VERSION_FIELDS, List.of(), null);
+        if (groups.isEmpty()) {
+            return "o0";
+        }
+        Map<String, Object> group = groups.get(0);
+        long writeDate = group.get("write_date") instanceof String text ? AttendanceRecordDecoder.parseOdooDateTime(text) : 0L;
+        double workedHours = group.get("worked_hours") instanceof Number hours ? hours.doubleValue() : 0.0;
+        return "o" + group.get("__count") + "." + Long.toHexString(writeDate) + "." + Long.toHexString(Double.doubleToLongBits(workedHours));
+    }
+}
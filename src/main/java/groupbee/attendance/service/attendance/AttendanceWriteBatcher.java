@@ -0,0 +1,228 @@
+package groupbee.attendance.service.attendance;
+
+import groupbee.attendance.config.OdooProperties;
+import groupbee.attendance.service.odoo.OdooBulkheadFullException;
+import groupbee.attendance.service.odoo.OdooException;
+import groupbee.attendance.service.odoo.OdooGateway;
+import groupbee.attendance.service.odoo.OdooQuery;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 출근 기록 생성을 짧은 시간 동안 모아 Odoo 에 한 번에 보내는 배치 단계.
+ * odoo.batch.enabled 가 꺼져 있으면 호출마다 바로 Odoo 를 호출한다.
+ * 퇴근 기록은 직원마다 시각이 달라 write 한 번으로 묶이는 일이 거의 없으므로 모으지 않고 바로 보낸다.
+ * Odoo 가 배치를 거절하면(fault) 트랜잭션 전체가 롤백되므로, 건별로 다시 보내 각 호출자가 자신의 결과를 받게 한다.
+ * 건별 재전송은 odooQueryExecutor 에서 병렬로 처리해 배치 스레드가 다음 배치를 모으는 것을 막지 않는다.
+ * 연결 끊김이나 응답 시간 초과처럼 반영 여부를 알 수 없는 실패 뒤에는 같은 출근 기록이 이미 있는지 확인하고 없을 때만 만든다.
+ * 호출자가 기다리다 포기한 요청은 보내지 않고, 이미 보낸 요청은 결과가 나올 때까지 한 번 더 기다린다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AttendanceWriteBatcher {
+    // PendingCreate.state: 대기 중인 요청만 보낸다. 보낸 뒤에는 호출자가 포기할 수 없다.
+    private static final int WAITING = 0;
+    private static final int SENT = 1;
+    private static final int ABANDONED = 2;
+
+    private final OdooGateway odooGateway;
+    private final OdooProperties odooProperties;
+    private final ExecutorService odooQueryExecutor;
+
+    private final BlockingQueue<PendingCreate> pendingCreates = new LinkedBlockingQueue<>();
+    private Thread flusher;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!odooProperties.getBatch().isEnabled()) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::runFlusher, "odoo-batch-create");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+        }
+        // 종료 전에 남은 요청은 모두 보낸다.
+        List<PendingCreate> remaining = new ArrayList<>();
+        pendingCreates.drainTo(remaining);
+        send(remaining);
+    }
+
+    /** 출근 기록을 생성하고 생성된 ID 를 반환한다. */
+    public int create(Map<String, Object> attendanceData) throws OdooException {
+        if (!running) {
+            return createOne(attendanceData);
+        }
+        PendingCreate pending = new PendingCreate(attendanceData, new CompletableFuture<>(), new AtomicInteger(WAITING));
+        pendingCreates.add(pending);
+        return await(pending);
+    }
+
+    /** 출근 기록 하나에 퇴근 시간(UTC 문자열)을 기록한다. */
+    public void writeCheckOut(int attendanceId, String utcCheckOutTime) throws OdooException {
+        odooGateway.write(OdooGateway.ATTENDANCE_MODEL, List.of(attendanceId), Map.of("check_out", utcCheckOutTime));
+    }
+
+    private void runFlusher() {
+        OdooProperties.Batch batch = odooProperties.getBatch();
+        while (running) {
+            try {
+                PendingCreate first = pendingCreates.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<PendingCreate> batchItems = new ArrayList<>(batch.getMaxSize());
+                batchItems.add(first);
+                // 첫 요청 기준으로 창을 닫으므로 개별 요청의 추가 지연은 window 를 넘지 않는다.
+                long deadline = System.nanoTime() + batch.getWindow().toNanos();
+                while (batchItems.size() < batch.getMaxSize()) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PendingCreate next = pendingCreates.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batchItems.add(next);
+                }
+                send(batchItems);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("odoo batch flusher error", e);
+            }
+        }
+    }
+
+    // 호출자가 이미 포기한 요청은 빼고 보낸다.
+    private void send(List<PendingCreate> batch) {
+        batch.removeIf(pending -> !pending.state().compareAndSet(WAITING, SENT));
+        if (!batch.isEmpty()) {
+            flushCreates(batch);
+        }
+    }
+
+    private void flushCreates(List<PendingCreate> batch) {
+        boolean reconcile = false;
+        if (batch.size() > 1) {
+            List<Map<String, Object>> values = new ArrayList<>(batch.size());
+            for (PendingCreate pending : batch) {
+                values.add(pending.values());
+            }
+            try {
+                // 여러 건을 한 번에 create 하면 생성 순서대로 ID 목록이 돌아온다.
+                List<Integer> ids = odooGateway.createMulti(OdooGateway.ATTENDANCE_MODEL, values);
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).result().complete(ids.get(i));
+                }
+                return;
+            } catch (OdooBulkheadFullException e) {
+                // Odoo 로 보내기 전에 실패했으므로 반영된 것이 없다.
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+                return;
+            } catch (OdooException e) {
+                // fault 면 전체가 롤백되었다. 그 밖의 실패는 Odoo 가 커밋한 뒤 응답만 잃었을 수 있다.
+                reconcile = !e.isRejected();
+                log.warn("batched create of {} records failed, {} one by one: {}", batch.size(),
+                        reconcile ? "reconciling" : "retrying", e.getMessage());
+            } catch (Exception e) {
+                reconcile = true;
+                log.warn("batched create of {} records failed, reconciling one by one: {}", batch.size(), e.getMessage());
+            }
+        }
+        // 한 건씩 다시 보내는 동안에도 다음 배치를 모을 수 있도록 조회 풀에서 병렬로 보낸다. 동시 호출 수는 bulkhead 가 제한한다.
+        boolean findExisting = reconcile;
+        for (PendingCreate pending : batch) {
+            Runnable retry = () -> {
+                try {
+                    pending.result().complete(findExisting ? findOrCreate(pending.values()) : createOne(pending.values()));
+                } catch (Exception e) {
+                    pending.result().completeExceptionally(e);
+                }
+            };
+            try {
+                odooQueryExecutor.execute(retry);
+            } catch (RejectedExecutionException e) {
+                // 종료 중이라 풀이 받지 않으면 이 스레드에서 보낸다.
+                retry.run();
+            }
+        }
+    }
+
+    private int createOne(Map<String, Object> attendanceData) throws OdooException {
+        return odooGateway.create(OdooGateway.ATTENDANCE_MODEL, attendanceData);
+    }
+
+    // 같은 직원, 같은 출근 시각의 기록이 이미 있으면 그 ID. 없을 때만 만든다.
+    private int findOrCreate(Map<String, Object> attendanceData) throws OdooException {
+        List<Integer> ids = odooGateway.search(OdooGateway.ATTENDANCE_MODEL, OdooQuery.builder()
+                .domain(List.of(
+                        Arrays.asList("employee_id", "=", attendanceData.get("employee_id")),
+                        Arrays.asList("check_in", "=", attendanceData.get("check_in"))
+                ))
+                .limit(1)
+                .build());
+        return ids.isEmpty() ? createOne(attendanceData) : ids.get(0);
+    }
+
+    private int await(PendingCreate pending) throws OdooException {
+        CompletableFuture<Integer> result = pending.result();
+        long timeoutMillis = odooProperties.getBatch().getTimeout().toMillis();
+        try {
+            try {
+                return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (pending.state().compareAndSet(WAITING, ABANDONED)) {
+                    throw new OdooException("Odoo batch write timed out before it was sent", e);
+                }
+                // 이미 보낸 요청은 반영되었을 수 있으므로 실패로 돌려주기 전에 결과를 한 번 더 기다린다.
+                return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof OdooException odooException) {
+                throw odooException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new OdooException("Odoo batch write failed: " + cause.getMessage(), cause);
+        } catch (TimeoutException e) {
+            throw new OdooException("Odoo batch write still running, it may have been applied", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OdooException("Interrupted while waiting for Odoo batch write", e);
+        }
+    }
+
+    private record PendingCreate(Map<String, Object> values, CompletableFuture<Integer> result, AtomicInteger state) {
+    }
+}
@@ -0,0 +1,33 @@
+package groupbee.attendance.service.attendance;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 직원별로 아직 퇴근하지 않은 출근 기록 ID 를 들고 있는 인메모리 인덱스.
+ * 인덱스에 값이 있으면 퇴근 시 직원 기록 전체를 검색하지 않고 ID 조회 한 번으로 열려 있는지 확인한 뒤 write 한다.
+ * 인스턴스마다 따로 가지므로 다른 인스턴스가 이미 닫은 기록일 수 있다. 항상 힌트로만 쓰고, 틀렸을 때는 Odoo 검색으로 되돌아간다.
+ */
+@Component
+public class OpenShiftIndex {
+    private final Map<Integer, Integer> openAttendanceByEmployee = new ConcurrentHashMap<>();
+
+    public Integer get(int employeeId) {
+        return openAttendanceByEmployee.get(employeeId);
+    }
+
+    public void put(int employeeId, int attendanceId) {
+        openAttendanceByEmployee.put(employeeId, attendanceId);
+    }
+
+    // 다른 요청이 그 사이에 새 출근 기록을 넣었다면 지우지 않는다.
+    public void remove(int employeeId, int attendanceId) {
+        openAttendanceByEmployee.remove(employeeId, attendanceId);
+    }
+
+    public int size() {
+        return openAttendanceByEmployee.size();
+    }
+}
@@ -0,0 +1,59 @@
+package groupbee.attendance.service.attendance;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * 근무 시간 요약의 집계 단위. 경계는 Odoo read_group 의 date_trunc 와 같다 (주는 월요일 시작).
+ */
+public enum SummaryPeriod {
+    DAY {
+        @Override
+        public LocalDate start(LocalDate date) {
+            return date;
+        }
+
+        @Override
+        public LocalDate next(LocalDate start) {
+            return start.plusDays(1);
+        }
+    },
+    WEEK {
+        @Override
+        public LocalDate start(LocalDate date) {
+            return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        @Override
+        public LocalDate next(LocalDate start) {
+            return start.plusWeeks(1);
+        }
+    },
+    MONTH {
+        @Override
+        public LocalDate start(LocalDate date) {
+            return date.withDayOfMonth(1);
+        }
+
+        @Override
+        public LocalDate next(LocalDate start) {
+            return start.plusMonths(1);
+        }
+    };
+
+    /** date 가 속한 기간의 첫날 */
+    public abstract LocalDate start(LocalDate date);
+
+    /** start 로 시작하는 기간의 다음 기간 첫날 (배타적 끝) */
+    public abstract LocalDate next(LocalDate start);
+
+    public String odooGroupBy(String field) {
+        return field + ":" + name().toLowerCase(Locale.ROOT);
+    }
+
+    public static SummaryPeriod from(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,110 @@
+package groupbee.attendance.service.feign;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import groupbee.attendance.config.HrCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 세션 쿠키를 키로 하는 HR 정보 캐시.
+ * 같은 세션의 동시 요청이 몰려도 Caffeine 이 키 단위로 로딩을 묶어 주므로 Feign 호출은 한 번만 나간다.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(HrCacheProperties.class)
+public class HrInfoCache {
+    private final FeignClient feignClient;
+    private final HrCacheProperties hrCacheProperties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, Map<String, Object>> cache;
+
+    public HrInfoCache(FeignClient feignClient, HrCacheProperties hrCacheProperties, MeterRegistry meterRegistry) {
+        this.feignClient = feignClient;
+        this.hrCacheProperties = hrCacheProperties;
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(hrCacheProperties.getMaximumSize())
+                .expireAfterWrite(hrCacheProperties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "hrInfo");
+    }
+
+    public Map<String, Object> getHrInfo() {
+        String sessionKey = currentSessionKey();
+        if (!hrCacheProperties.isEnabled() || sessionKey == null) {
+            return fetchHrInfo();
+        }
+        // 로딩 중 예외가 나면 캐시에 남지 않고 그대로 호출자에게 전달된다.
+        return cache.get(sessionKey, key -> Collections.unmodifiableMap(new HashMap<>(fetchHrInfo())));
+    }
+
+    public void invalidateCurrentSession() {
+        String sessionKey = currentSessionKey();
+        if (sessionKey != null) {
+            cache.invalidate(sessionKey);
+        }
+    }
+
+    public void invalidate(String sessionKey) {
+        cache.invalidate(sessionKey);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private Map<String, Object> fetchHrInfo() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return feignClient.getHrInfo();
+        } catch (RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("hr.info.requests")
+                    .description("employee 서비스 /api/hr/info 호출 시간")
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    private String currentSessionKey() {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        String cookieHeader = request.getHeader("Cookie");
+        if (cookieHeader == null || cookieHeader.isBlank()) {
+            return null;
+        }
+        String prefix = hrCacheProperties.getSessionCookie() + "=";
+        for (String cookie : cookieHeader.split(";")) {
+            String trimmed = cookie.trim();
+            if (trimmed.startsWith(prefix)) {
+                return trimmed.substring(prefix.length());
+            }
+        }
+        return cookieHeader;
+    }
+}
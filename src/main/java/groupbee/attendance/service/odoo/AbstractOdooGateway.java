@@ -0,0 +1,79 @@
+package groupbee.attendance.service.odoo;
+
+import groupbee.attendance.config.OdooProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 트랜스포트 공통 처리: 벌크헤드, 호출 시간/레코드 수 메트릭, 예외 변환.
+ */
+public abstract class AbstractOdooGateway implements OdooGateway {
+    private static final List<String> ATTENDANCE_FIELDS = List.of("check_in", "check_out", "worked_hours");
+    private static final List<String> ATTENDANCE_FIELDS_WITH_EMPLOYEE =
+            List.of("employee_id", "check_in", "check_out", "worked_hours");
+
+    protected final OdooProperties odooProperties;
+    private final OdooBulkhead odooBulkhead;
+    private final MeterRegistry meterRegistry;
+
+    protected AbstractOdooGateway(OdooProperties odooProperties, OdooBulkhead odooBulkhead, MeterRegistry meterRegistry) {
+        this.odooProperties = odooProperties;
+        this.odooBulkhead = odooBulkhead;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @FunctionalInterface
+    protected interface OdooCall<T> {
+        T call() throws Exception;
+    }
+
+    protected <T> T call(String model, String method, OdooCall<T> call) throws OdooException {
+        odooBulkhead.acquire();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return call.call();
+        } catch (OdooException | RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } catch (Exception e) {
+            exception = e.getClass().getSimpleName();
+            throw new OdooException("Odoo " + model + "." + method + " failed: " + e.getMessage(), e);
+        } finally {
+            sample.stop(Timer.builder("odoo.calls")
+                    .description("Odoo execute_kw 호출 시간")
+                    .tags("model", model, "method", method, "exception", exception)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            odooBulkhead.release();
+        }
+    }
+
+    protected void recordCount(String model, String method, int count) {
+        DistributionSummary.builder("odoo.records")
+                .description("Odoo 조회 한 번에 돌아온 레코드 수")
+                .tags("model", model, "method", method)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(count);
+    }
+
+    protected Map<String, Object> readGroupKwargs(Map<String, Object> context) {
+        // lazy=false 여야 groupBy 를 모두 한 번에 적용하고 건수를 __count 로 돌려준다.
+        Map<String, Object> kwargs = new LinkedHashMap<>();
+        kwargs.put("lazy", false);
+        if (context != null && !context.isEmpty()) {
+            kwargs.put("context", context);
+        }
+        return kwargs;
+    }
+
+    protected List<String> attendanceFields(Integer employeeId) {
+        return employeeId == null ? ATTENDANCE_FIELDS_WITH_EMPLOYEE : ATTENDANCE_FIELDS;
+    }
+}
@@ -0,0 +1,264 @@
+package groupbee.attendance.service.odoo;
+
+import groupbee.attendance.dto.AttendanceDto;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Odoo hr.attendance 레코드를 AttendanceDto 로 한 번에 채우는 디코더.
+ * Odoo 의 날짜 문자열은 항상 UTC 의 "yyyy-MM-dd HH:mm:ss" 이므로 자리수 기반으로 바로 epoch 초로 읽고,
+ * 시간대 오프셋은 미리 계산해 둔 값으로 더한다. 레코드당 생기는 객체는 DTO 와 Timestamp 뿐이다.
+ */
+@Component
+public class AttendanceRecordDecoder {
+    private static final int ODOO_DATETIME_LENGTH = 19;
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    private final OffsetCache kst = new OffsetCache(ZoneId.of("Asia/Seoul"));
+    // Timestamp 는 JVM 기본 시간대의 벽시계 시간으로 해석되므로 그 오프셋도 캐시한다.
+    private final OffsetCache system = new OffsetCache(ZoneId.systemDefault());
+
+    /** DTO 에 담을 출퇴근 시각의 기준 */
+    public enum Clock {
+        // Odoo 에 저장된 UTC 값 그대로
+        UTC,
+        // KST 로 변환한 값
+        KST
+    }
+
+    /**
+     * search_read 결과 한 건을 AttendanceDto 로 변환한다.
+     * employeeId 가 null 이면 레코드의 employee_id 필드에서 읽는다.
+     */
+    public AttendanceDto decode(Map<String, Object> record, Integer employeeId, Clock clock) {
+        int resolvedEmployeeId = employeeId != null ? employeeId : decodeEmployeeId(record);
+        return clock == Clock.KST ? decodeKst(record, resolvedEmployeeId) : decodeUtc(record, resolvedEmployeeId);
+    }
+
+    // search_read 결과 한 건을 AttendanceDto 로 변환 (시간은 Odoo 의 UTC 값 그대로)
+    public AttendanceDto decodeUtc(Map<String, Object> record, int employeeId) {
+        AttendanceDto dto = new AttendanceDto();
+        dto.setId((int) record.get("id"));
+        dto.setEmployeeId(employeeId);
+        dto.setCheckIn(toTimestamp(record.get("check_in"), false));
+        dto.setCheckOut(toTimestamp(record.get("check_out"), false));
+        dto.setWorkHours(record.get("worked_hours") instanceof Number workedHours ? workedHours.doubleValue() : 0.0);
+        return dto;
+    }
+
+    // search_read 결과 한 건을 출퇴근 시간을 KST 로 바꾼 AttendanceDto 로 변환
+    public AttendanceDto decodeKst(Map<String, Object> record, int employeeId) {
+        AttendanceDto dto = new AttendanceDto();
+        dto.setId((int) record.get("id"));
+        dto.setEmployeeId(employeeId);
+        dto.setCheckIn(toTimestamp(record.get("check_in"), true));
+        dto.setCheckOut(toTimestamp(record.get("check_out"), true));
+        return dto;
+    }
+
+    // many2one 필드는 [id, "이름"] 으로 온다. XML-RPC 는 Object[], JSON-RPC 는 List 이다.
+    public int decodeEmployeeId(Map<String, Object> record) {
+        Object employee = record.get("employee_id");
+        if (employee instanceof Object[] pair) {
+            return (int) pair[0];
+        }
+        return ((Number) ((List<?>) employee).get(0)).intValue();
+    }
+
+    // 비어 있는 many2one 은 false 로 온다. 그때는 null.
+    public Integer decodeMany2oneId(Object value) {
+        if (value instanceof Object[] pair) {
+            return (Integer) pair[0];
+        }
+        if (value instanceof List<?> pair) {
+            return ((Number) pair.get(0)).intValue();
+        }
+        return null;
+    }
+
+    // many2one 의 표시 이름. 이름이 없으면 빈 문자열.
+    public String decodeEmployeeName(Map<String, Object> record) {
+        Object employee = record.get("employee_id");
+        Object name = employee instanceof Object[] pair ? pair[1] : ((List<?>) employee).get(1);
+        return name instanceof String text ? text : "";
+    }
+
+    // Odoo 시각 문자열(UTC)을 같은 형식의 KST 문자열로 변환 (내보내기 등 문자열로 바로 쓰는 경우)
+    public String toKstString(CharSequence odooDateTime) {
+        long utcEpochSecond = parseOdooDateTime(odooDateTime);
+        return formatOdooDateTime(utcEpochSecond + kst.offsetAtInstant(utcEpochSecond));
+    }
+
+    // KST 기준 시각을 Odoo 가 저장하는 UTC 문자열로 변환
+    public String toOdooUtc(LocalDateTime kstDateTime) {
+        long localEpochSecond = kstDateTime.toEpochSecond(ZoneOffset.UTC);
+        return formatOdooDateTime(localEpochSecond - kst.offsetAtLocal(localEpochSecond));
+    }
+
+    // decodeUtc 로 만든 Timestamp 를 다시 Odoo 의 UTC 문자열로 변환 (커서 등에 사용)
+    public String toOdooString(Timestamp utcTimestamp) {
+        return formatOdooDateTime(utcTimestamp.toLocalDateTime().toEpochSecond(ZoneOffset.UTC));
+    }
+
+    // Odoo 시각 값(문자열 또는 false)을 Clock 기준 Timestamp 로 변환
+    public Timestamp toTimestamp(Object value, Clock clock) {
+        return toTimestamp(value, clock == Clock.KST);
+    }
+
+    // Odoo 시각 문자열을 Clock 기준 Timestamp 로 변환
+    public Timestamp parseTimestamp(CharSequence odooDateTime, Clock clock) {
+        long utcEpochSecond = parseOdooDateTime(odooDateTime);
+        return clock == Clock.KST ? toKstTimestamp(utcEpochSecond) : toUtcTimestamp(utcEpochSecond);
+    }
+
+    // UTC epoch 초를 KST 벽시계 기준 Timestamp 로 변환
+    public Timestamp toKstTimestamp(long utcEpochSecond) {
+        return wallClockTimestamp(utcEpochSecond + kst.offsetAtInstant(utcEpochSecond));
+    }
+
+    // UTC epoch 초를 UTC 벽시계 기준 Timestamp 로 변환
+    public Timestamp toUtcTimestamp(long utcEpochSecond) {
+        return wallClockTimestamp(utcEpochSecond);
+    }
+
+    private Timestamp toTimestamp(Object value, boolean toKst) {
+        if (!(value instanceof String text)) {
+            return null; // Odoo 는 빈 값을 false 로 보낸다.
+        }
+        long utcEpochSecond = parseOdooDateTime(text);
+        return toKst ? toKstTimestamp(utcEpochSecond) : toUtcTimestamp(utcEpochSecond);
+    }
+
+    // 벽시계 시간(epoch 초로 표현)을 Timestamp.valueOf(LocalDateTime) 과 같은 의미의 Timestamp 로 만든다.
+    private Timestamp wallClockTimestamp(long localEpochSecond) {
+        return new Timestamp((localEpochSecond - system.offsetAtLocal(localEpochSecond)) * 1000L);
+    }
+
+    /** "yyyy-MM-dd HH:mm:ss" (UTC) 를 epoch 초로 읽는다. 소수점 이하가 붙어 있으면 버린다. */
+    public static long parseOdooDateTime(CharSequence text) {
+        if (text.length() < ODOO_DATETIME_LENGTH
+                || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != ' '
+                || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            throw new IllegalArgumentException("Odoo 날짜 형식이 아닙니다: " + text);
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        int hour = digits(text, 11, 2);
+        int minute = digits(text, 14, 2);
+        int second = digits(text, 17, 2);
+        return epochDay(year, month, day) * SECONDS_PER_DAY + hour * 3600L + minute * 60L + second;
+    }
+
+    /** epoch 초를 Odoo 의 "yyyy-MM-dd HH:mm:ss" 문자열로 쓴다. */
+    public static String formatOdooDateTime(long epochSecond) {
+        long epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+
+        // epochDay -> (year, month, day)
+        long z = epochDay + 719_468;
+        long era = (z >= 0 ? z : z - 146_096) / 146_097;
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+        char[] out = new char[ODOO_DATETIME_LENGTH];
+        writeDigits(out, 0, year, 4);
+        out[4] = '-';
+        writeDigits(out, 5, month, 2);
+        out[7] = '-';
+        writeDigits(out, 8, day, 2);
+        out[10] = ' ';
+        writeDigits(out, 11, secondOfDay / 3600, 2);
+        out[13] = ':';
+        writeDigits(out, 14, secondOfDay / 60 % 60, 2);
+        out[16] = ':';
+        writeDigits(out, 17, secondOfDay % 60, 2);
+        return new String(out);
+    }
+
+    private static int digits(CharSequence text, int start, int length) {
+        int value = 0;
+        for (int i = start; i < start + length; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Odoo 날짜 형식이 아닙니다: " + text);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static void writeDigits(char[] out, int start, int value, int length) {
+        for (int i = start + length - 1; i >= start; i--) {
+            out[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    // (year, month, day) -> 1970-01-01 기준 일수 (proleptic Gregorian)
+    private static long epochDay(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = (y >= 0 ? y : y - 399) / 400;
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468;
+    }
+
+    /**
+     * 시간대 규칙에서 마지막 전환 이후 더 이상 전환이 없으면(예: Asia/Seoul, UTC) 그 뒤로는 오프셋이 고정이므로
+     * 그 구간은 ZoneRules 조회 없이 상수로 계산한다. 그 이전 시각이나 서머타임이 있는 시간대는 ZoneRules 를 그대로 쓴다.
+     */
+    private static final class OffsetCache {
+        // 벽시계 시간으로 판단할 때 오프셋 차이만큼 여유를 둔다. (오프셋은 최대 ±18시간)
+        private static final long LOCAL_MARGIN = 18 * 3600L;
+
+        private final ZoneRules rules;
+        private final long fixedSince;
+        private final int fixedOffset;
+
+        private OffsetCache(ZoneId zone) {
+            this.rules = zone.getRules();
+            Instant now = Instant.now();
+            if (rules.isFixedOffset()) {
+                fixedSince = Long.MIN_VALUE + LOCAL_MARGIN;
+                fixedOffset = rules.getOffset(now).getTotalSeconds();
+            } else if (rules.nextTransition(now) == null) {
+                ZoneOffsetTransition last = rules.previousTransition(now);
+                fixedSince = last == null ? Long.MIN_VALUE + LOCAL_MARGIN : last.getInstant().getEpochSecond();
+                fixedOffset = rules.getOffset(now).getTotalSeconds();
+            } else {
+                fixedSince = Long.MAX_VALUE - LOCAL_MARGIN;
+                fixedOffset = 0;
+            }
+        }
+
+        int offsetAtInstant(long epochSecond) {
+            if (epochSecond >= fixedSince) {
+                return fixedOffset;
+            }
+            return rules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+        }
+
+        int offsetAtLocal(long localEpochSecond) {
+            if (localEpochSecond >= fixedSince + LOCAL_MARGIN) {
+                return fixedOffset;
+            }
+            return rules.getOffset(LocalDateTime.ofEpochSecond(localEpochSecond, 0, ZoneOffset.UTC)).getTotalSeconds();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package groupbee.attendance.service.odoo;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import groupbee.attendance.config.OdooProperties;
+import groupbee.attendance.dto.AttendanceDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.CharBuffer;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Odoo 의 /jsonrpc 엔드포인트를 사용하는 게이트웨이. odoo.transport=jsonrpc 일 때 사용한다.
+ * 응답을 트리로 만들지 않고 Jackson 스트리밍 파서로 읽어 hr.attendance 레코드를 바로 AttendanceDto 로 채운다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "odoo", name = "transport", havingValue = "jsonrpc")
+public class JsonRpcOdooGateway extends AbstractOdooGateway {
+    private static final TypeReference<List<Map<String, Object>>> RECORDS = new TypeReference<>() {
+    };
+    private static final TypeReference<List<Integer>> IDS = new TypeReference<>() {
+    };
+
+    private final CloseableHttpClient odooHttpClient;
+    private final AttendanceRecordDecoder attendanceRecordDecoder;
+    private final ObjectMapper objectMapper;
+    private final JsonFactory jsonFactory;
+    private final String endpoint;
+    private final AtomicLong requestId = new AtomicLong();
+
+    public JsonRpcOdooGateway(CloseableHttpClient odooHttpClient, AttendanceRecordDecoder attendanceRecordDecoder,
+                              ObjectMapper objectMapper, OdooProperties odooProperties,
+                              OdooBulkhead odooBulkhead, MeterRegistry meterRegistry) {
+        super(odooProperties, odooBulkhead, meterRegistry);
+        this.odooHttpClient = odooHttpClient;
+        this.attendanceRecordDecoder = attendanceRecordDecoder;
+        this.objectMapper = objectMapper;
+        this.jsonFactory = objectMapper.getFactory();
+        this.endpoint = odooProperties.getUrl() + "/jsonrpc";
+    }
+
+    @FunctionalInterface
+    private interface ResultReader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+
+    @Override
+    public List<Map<String, Object>> searchRead(String model, OdooQuery query) throws OdooException {
+        List<Map<String, Object>> records = call(model, "search_read",
+                () -> execute(model, "search_read", List.of(query.getDomain()), query.toKwargs(),
+                        parser -> objectMapper.readValue(parser, RECORDS)));
+        recordCount(model, "search_read", records.size());
+        return records;
+    }
+
+    @Override
+    public List<AttendanceDto> searchReadAttendance(OdooQuery query, Integer employeeId,
+                                                    AttendanceRecordDecoder.Clock clock) throws OdooException {
+        Map<String, Object> kwargs = query.toKwargs();
+        kwargs.put("fields", attendanceFields(employeeId));
+        List<AttendanceDto> records = call(ATTENDANCE_MODEL, "search_read",
+                () -> execute(ATTENDANCE_MODEL, "search_read", List.of(query.getDomain()), kwargs,
+                        parser -> readAttendance(parser, employeeId, clock)));
+        recordCount(ATTENDANCE_MODEL, "search_read", records.size());
+        return records;
+    }
+
+    @Override
+    public List<Integer> search(String model, OdooQuery query) throws OdooException {
+        return call(model, "search",
+                () -> execute(model, "search", List.of(query.getDomain()), query.toKwargs(),
+                        parser -> objectMapper.readValue(parser, IDS)));
+    }
+
+    @Override
+    public List<Map<String, Object>> readGroup(String model, List<?> domain, List<String> fields, List<String> groupBy,
+                                               Map<String, Object> context) throws OdooException {
+        List<Map<String, Object>> groups = call(model, "read_group",
+                () -> execute(model, "read_group", Arrays.asList(domain, fields, groupBy), readGroupKwargs(context),
+                        parser -> objectMapper.readValue(parser, RECORDS)));
+        recordCount(model, "read_group", groups.size());
+        return groups;
+    }
+
+    @Override
+    public int create(String model, Map<String, Object> values) throws OdooException {
+        return call(model, "create",
+                () -> execute(model, "create", List.of(values), Map.of(), JsonParser::getIntValue));
+    }
+
+    @Override
+    public List<Integer> createMulti(String model, List<Map<String, Object>> values) throws OdooException {
+        return call(model, "create",
+                () -> execute(model, "create", List.of(values), Map.of(),
+                        parser -> objectMapper.readValue(parser, IDS)));
+    }
+
+    @Override
+    public void write(String model, List<Integer> ids, Map<String, Object> values) throws OdooException {
+        call(model, "write",
+                () -> execute(model, "write", Arrays.asList(ids, values), Map.of(), JsonParser::getBooleanValue));
+    }
+
+    private <T> T execute(String model, String method, List<?> args, Map<String, ?> kwargs,
+                          ResultReader<T> reader) throws IOException, OdooException {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("service", "object");
+        params.put("method", "execute_kw");
+        params.put("args", Arrays.asList(
+                odooProperties.getDb(), odooProperties.getUid(), odooProperties.getPassword(),
+                model, method, args, kwargs
+        ));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("jsonrpc", "2.0");
+        body.put("method", "call");
+        body.put("params", params);
+        body.put("id", requestId.incrementAndGet());
+
+        HttpPost request = new HttpPost(endpoint);
+        request.setEntity(new ByteArrayEntity(objectMapper.writeValueAsBytes(body), ContentType.APPLICATION_JSON));
+        try (ClassicHttpResponse response = odooHttpClient.executeOpen(null, request, null)) {
+            HttpEntity entity = response.getEntity();
+            try {
+                int status = response.getCode();
+                if (status < 200 || status > 299) {
+                    throw new OdooException("Odoo HTTP error: " + status + " " + response.getReasonPhrase());
+                }
+                try (InputStream content = entity.getContent(); JsonParser parser = jsonFactory.createParser(content)) {
+                    return readEnvelope(parser, reader);
+                }
+            } finally {
+                // 남은 바이트를 모두 읽어야 커넥션이 닫히지 않고 풀로 돌아간다.
+                EntityUtils.consume(entity);
+            }
+        }
+    }
+
+    // {"jsonrpc": "2.0", "id": 1, "result": ...} 또는 {"error": {...}}
+    private <T> T readEnvelope(JsonParser parser, ResultReader<T> reader) throws IOException, OdooException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new OdooException("Invalid JSON-RPC response");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            if ("result".equals(name)) {
+                return reader.read(parser);
+            }
+            if ("error".equals(name)) {
+                JsonNode error = objectMapper.readTree(parser);
+                String message = error.path("data").path("message").asText(error.path("message").asText());
+                throw new OdooException("Odoo error: " + message, null, true);
+            }
+            parser.skipChildren();
+        }
+        throw new OdooException("JSON-RPC response without result");
+    }
+
+    private List<AttendanceDto> readAttendance(JsonParser parser, Integer employeeId,
+                                               AttendanceRecordDecoder.Clock clock) throws IOException {
+        List<AttendanceDto> records = new ArrayList<>();
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new IOException("search_read result is not an array");
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            AttendanceDto dto = new AttendanceDto();
+            if (employeeId != null) {
+                dto.setEmployeeId(employeeId);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                    case "id" -> dto.setId(parser.getIntValue());
+                    case "employee_id" -> readEmployeeId(parser, token, dto, employeeId);
+                    case "check_in" -> dto.setCheckIn(readTimestamp(parser, token, clock));
+                    case "check_out" -> dto.setCheckOut(readTimestamp(parser, token, clock));
+                    case "worked_hours" -> {
+                        // decodeKst 와 같이 KST 응답에는 근무 시간을 채우지 않는다.
+                        if (clock == AttendanceRecordDecoder.Clock.UTC && token.isNumeric()) {
+                            dto.setWorkHours(parser.getDoubleValue());
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            records.add(dto);
+        }
+        return records;
+    }
+
+    // many2one 은 [id, "이름"] 또는 false
+    private void readEmployeeId(JsonParser parser, JsonToken token, AttendanceDto dto, Integer employeeId) throws IOException {
+        if (token != JsonToken.START_ARRAY) {
+            return;
+        }
+        parser.nextToken();
+        if (employeeId == null) {
+            dto.setEmployeeId(parser.getIntValue());
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            parser.skipChildren();
+        }
+    }
+
+    private Timestamp readTimestamp(JsonParser parser, JsonToken token, AttendanceRecordDecoder.Clock clock) throws IOException {
+        if (token != JsonToken.VALUE_STRING) {
+            return null; // Odoo 는 빈 값을 false 로 보낸다.
+        }
+        // 파서의 버퍼를 그대로 감싸서 문자열을 만들지 않고 읽는다.
+        CharBuffer text = CharBuffer.wrap(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        return attendanceRecordDecoder.parseTimestamp(text, clock);
+    }
+}
@@ -0,0 +1,78 @@
+package groupbee.attendance.service.odoo;
+
+import groupbee.attendance.config.OdooProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Odoo 로 동시에 나가는 호출 수를 제한하는 세마포어 기반 벌크헤드.
+ * 자리가 없으면 odoo.bulkhead.max-wait 동안 기다린 뒤 OdooBulkheadFullException 을 던진다.
+ */
+@Component
+public class OdooBulkhead {
+    private final boolean enabled;
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public OdooBulkhead(OdooProperties odooProperties, MeterRegistry meterRegistry) {
+        OdooProperties.Bulkhead bulkhead = odooProperties.getBulkhead();
+        this.enabled = bulkhead.isEnabled();
+        this.maxConcurrent = bulkhead.getMaxConcurrent();
+        this.maxWaitNanos = bulkhead.getMaxWait().toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+
+        Gauge.builder("odoo.bulkhead.in-flight", permits, p -> maxConcurrent - p.availablePermits())
+                .description("Odoo 로 나가 있는 호출 수")
+                .register(meterRegistry);
+        Gauge.builder("odoo.bulkhead.waiting", waiting, AtomicInteger::get)
+                .description("벌크헤드 자리를 기다리는 호출 수")
+                .register(meterRegistry);
+        Gauge.builder("odoo.bulkhead.max-concurrent", () -> maxConcurrent)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("odoo.bulkhead.wait")
+                .description("벌크헤드 대기 시간")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("odoo.bulkhead.rejected")
+                .description("대기 시간 초과로 거절된 호출 수")
+                .register(meterRegistry);
+    }
+
+    public void acquire() {
+        if (!enabled) {
+            return;
+        }
+        waiting.incrementAndGet();
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OdooBulkheadFullException("Interrupted while waiting for Odoo bulkhead");
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            rejected.increment();
+            throw new OdooBulkheadFullException("Odoo bulkhead full (" + maxConcurrent + " in flight)");
+        }
+    }
+
+    public void release() {
+        if (enabled) {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package groupbee.attendance.service.odoo;
+
+public class OdooBulkheadFullException extends RuntimeException {
+    public OdooBulkheadFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,26 @@
+package groupbee.attendance.service.odoo;
+
+/**
+ * Odoo 호출 실패. 트랜스포트(XML-RPC/JSON-RPC)와 관계없이 같은 타입으로 올려 보낸다.
+ * rejected 는 Odoo 가 요청을 받아서 오류로 응답한 경우(검증 오류, 권한 등)로, 같은 요청을 다시 보내도 실패한다.
+ */
+public class OdooException extends Exception {
+    private final boolean rejected;
+
+    public OdooException(String message) {
+        this(message, null, false);
+    }
+
+    public OdooException(String message, Throwable cause) {
+        this(message, cause, false);
+    }
+
+    public OdooException(String message, Throwable cause, boolean rejected) {
+        super(message, cause);
+        this.rejected = rejected;
+    }
+
+    public boolean isRejected() {
+        return rejected;
+    }
+}
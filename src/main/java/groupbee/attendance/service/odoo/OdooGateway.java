@@ -0,0 +1,38 @@
+package groupbee.attendance.service.odoo;
+
+import groupbee.attendance.dto.AttendanceDto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Odoo 의 execute_kw 호출을 감싼 게이트웨이. odoo.transport 설정으로 XML-RPC 또는 JSON-RPC 구현을 고른다.
+ */
+public interface OdooGateway {
+    String ATTENDANCE_MODEL = "hr.attendance";
+
+    List<Map<String, Object>> searchRead(String model, OdooQuery query) throws OdooException;
+
+    /**
+     * hr.attendance 를 search_read 해서 바로 AttendanceDto 로 디코딩한다. query 의 fields 는 무시한다.
+     * employeeId 가 null 이면 각 레코드의 employee_id 를 읽어 채운다.
+     */
+    List<AttendanceDto> searchReadAttendance(OdooQuery query, Integer employeeId,
+                                             AttendanceRecordDecoder.Clock clock) throws OdooException;
+
+    List<Integer> search(String model, OdooQuery query) throws OdooException;
+
+    /**
+     * read_group(lazy=false). fields 는 "worked_hours:sum" 처럼 집계 함수를 붙이고, groupBy 는 "check_in:day" 형식.
+     * 각 행에는 집계 값과 __count, 그룹 조건인 __domain 이 들어 있다. context 의 tz 가 날짜 그룹 경계를 정한다.
+     */
+    List<Map<String, Object>> readGroup(String model, List<?> domain, List<String> fields, List<String> groupBy,
+                                        Map<String, Object> context) throws OdooException;
+
+    int create(String model, Map<String, Object> values) throws OdooException;
+
+    /** 여러 레코드를 한 번의 create 로 만든다. 반환 ID 는 values 순서와 같다. */
+    List<Integer> createMulti(String model, List<Map<String, Object>> values) throws OdooException;
+
+    void write(String model, List<Integer> ids, Map<String, Object> values) throws OdooException;
+}
@@ -0,0 +1,99 @@
+package groupbee.attendance.service.odoo;
+
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.xmlrpc.XmlRpcException;
+import org.apache.xmlrpc.XmlRpcRequest;
+import org.apache.xmlrpc.client.XmlRpcClient;
+import org.apache.xmlrpc.client.XmlRpcClientException;
+import org.apache.xmlrpc.client.XmlRpcHttpClientConfig;
+import org.apache.xmlrpc.client.XmlRpcHttpTransport;
+import org.apache.xmlrpc.common.XmlRpcStreamRequestConfig;
+import org.xml.sax.SAXException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Apache HttpClient 5 의 커넥션 풀을 사용하는 XML-RPC 트랜스포트.
+ * 기본 Sun 트랜스포트는 호출이 끝날 때마다 disconnect() 로 커넥션을 끊기 때문에
+ * 요청마다 새 TCP 연결이 생긴다. 여기서는 응답을 끝까지 소비한 뒤 풀로 반환한다.
+ * 트랜스포트 인스턴스는 요청 하나에서만 쓰이므로 스레드 안전할 필요가 없다.
+ */
+public class OdooHttpTransport extends XmlRpcHttpTransport {
+    private static final String USER_AGENT = "groupBee-Attendance (HttpClient5 Transport)";
+
+    private final CloseableHttpClient httpClient;
+    private HttpPost request;
+    private ClassicHttpResponse response;
+
+    public OdooHttpTransport(XmlRpcClient client, CloseableHttpClient httpClient) {
+        super(client, USER_AGENT);
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    public Object sendRequest(XmlRpcRequest xmlRpcRequest) throws XmlRpcException {
+        XmlRpcHttpClientConfig config = (XmlRpcHttpClientConfig) xmlRpcRequest.getConfig();
+        request = new HttpPost(config.getServerURL().toString());
+        return super.sendRequest(xmlRpcRequest);
+    }
+
+    @Override
+    protected void setRequestHeader(String header, String value) {
+        // Content-Length 는 엔티티로부터 HttpClient 가 직접 계산한다.
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(header)) {
+            return;
+        }
+        request.setHeader(header, value);
+    }
+
+    @Override
+    protected void writeRequest(ReqWriter writer) throws XmlRpcException, IOException, SAXException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        writer.write(body);
+        request.setEntity(new ByteArrayEntity(body.toByteArray(), ContentType.TEXT_XML));
+        response = httpClient.executeOpen(null, request, null);
+    }
+
+    @Override
+    protected InputStream getInputStream() throws XmlRpcException {
+        int status = response.getCode();
+        if (status < 200 || status > 299) {
+            throw new XmlRpcClientException("Odoo HTTP error: " + status + " " + response.getReasonPhrase(), null);
+        }
+        try {
+            return response.getEntity().getContent();
+        } catch (IOException e) {
+            throw new XmlRpcClientException("Failed to read response: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected boolean isResponseGzipCompressed(XmlRpcStreamRequestConfig config) {
+        // gzip 응답은 HttpClient 가 이미 풀어서 넘겨준다.
+        return false;
+    }
+
+    @Override
+    protected void close() throws XmlRpcClientException {
+        if (response == null) {
+            return;
+        }
+        try {
+            // 남은 바이트를 모두 읽어야 커넥션이 닫히지 않고 풀로 돌아간다.
+            EntityUtils.consume(response.getEntity());
+            response.close();
+        } catch (IOException e) {
+            throw new XmlRpcClientException("Failed to release connection: " + e.getMessage(), e);
+        } finally {
+            response = null;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package groupbee.attendance.service.odoo;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.xmlrpc.client.XmlRpcClient;
+import org.apache.xmlrpc.client.XmlRpcTransport;
+import org.apache.xmlrpc.client.XmlRpcTransportFactoryImpl;
+
+public class OdooHttpTransportFactory extends XmlRpcTransportFactoryImpl {
+    private final CloseableHttpClient httpClient;
+
+    public OdooHttpTransportFactory(XmlRpcClient client, CloseableHttpClient httpClient) {
+        super(client);
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    public XmlRpcTransport getTransport() {
+        return new OdooHttpTransport(getClient(), httpClient);
+    }
+}
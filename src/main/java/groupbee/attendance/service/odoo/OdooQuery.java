@@ -0,0 +1,39 @@
+package groupbee.attendance.service.odoo;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * search / search_read 에 넘기는 도메인과 옵션.
+ */
+@Getter
+@Builder
+public class OdooQuery {
+    @Builder.Default
+    private final List<?> domain = List.of();
+    private final List<String> fields;
+    private final String order;
+    private final Integer limit;
+    private final Integer offset;
+
+    public Map<String, Object> toKwargs() {
+        Map<String, Object> kwargs = new LinkedHashMap<>();
+        if (fields != null) {
+            kwargs.put("fields", fields);
+        }
+        if (order != null) {
+            kwargs.put("order", order);
+        }
+        if (limit != null) {
+            kwargs.put("limit", limit);
+        }
+        if (offset != null) {
+            kwargs.put("offset", offset);
+        }
+        return kwargs;
+    }
+}
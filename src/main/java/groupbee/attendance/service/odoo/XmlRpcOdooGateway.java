@@ -0,0 +1,142 @@
+package groupbee.attendance.service.odoo;
+
+import groupbee.attendance.config.OdooProperties;
+import groupbee.attendance.dto.AttendanceDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.xmlrpc.XmlRpcException;
+import org.apache.xmlrpc.client.XmlRpcClient;
+import org.apache.xmlrpc.client.XmlRpcClientException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /xmlrpc/2/object 를 사용하는 기본 게이트웨이.
+ * XmlRpcClient 와 커넥션 풀은 애플리케이션 전체에서 하나만 사용한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "odoo", name = "transport", havingValue = "xmlrpc", matchIfMissing = true)
+public class XmlRpcOdooGateway extends AbstractOdooGateway {
+    private final XmlRpcClient odooXmlRpcClient;
+    private final AttendanceRecordDecoder attendanceRecordDecoder;
+
+    public XmlRpcOdooGateway(XmlRpcClient odooXmlRpcClient, AttendanceRecordDecoder attendanceRecordDecoder,
+                             OdooProperties odooProperties, OdooBulkhead odooBulkhead, MeterRegistry meterRegistry) {
+        super(odooProperties, odooBulkhead, meterRegistry);
+        this.odooXmlRpcClient = odooXmlRpcClient;
+        this.attendanceRecordDecoder = attendanceRecordDecoder;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Map<String, Object>> searchRead(String model, OdooQuery query) throws OdooException {
+        Object[] records = searchReadRaw(model, query.getDomain(), query.toKwargs());
+        List<Map<String, Object>> result = new ArrayList<>(records.length);
+        for (Object record : records) {
+            result.add((Map<String, Object>) record);
+        }
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<AttendanceDto> searchReadAttendance(OdooQuery query, Integer employeeId,
+                                                    AttendanceRecordDecoder.Clock clock) throws OdooException {
+        Map<String, Object> kwargs = query.toKwargs();
+        kwargs.put("fields", attendanceFields(employeeId));
+        Object[] records = searchReadRaw(ATTENDANCE_MODEL, query.getDomain(), kwargs);
+        List<AttendanceDto> result = new ArrayList<>(records.length);
+        for (Object record : records) {
+            result.add(attendanceRecordDecoder.decode((Map<String, Object>) record, employeeId, clock));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Integer> search(String model, OdooQuery query) throws OdooException {
+        Object[] ids = call(model, "search",
+                () -> (Object[]) execute(model, "search", List.of(query.getDomain()), query.toKwargs()));
+        return toIds(ids);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Map<String, Object>> readGroup(String model, List<?> domain, List<String> fields, List<String> groupBy,
+                                               Map<String, Object> context) throws OdooException {
+        Object[] groups = call(model, "read_group", () -> (Object[]) execute(model, "read_group",
+                Arrays.asList(domain, fields, groupBy), readGroupKwargs(context)));
+        recordCount(model, "read_group", groups.length);
+        List<Map<String, Object>> result = new ArrayList<>(groups.length);
+        for (Object group : groups) {
+            result.add((Map<String, Object>) group);
+        }
+        return result;
+    }
+
+    @Override
+    public int create(String model, Map<String, Object> values) throws OdooException {
+        return call(model, "create", () -> (int) execute(model, "create", List.of(values), Map.of()));
+    }
+
+    @Override
+    public List<Integer> createMulti(String model, List<Map<String, Object>> values) throws OdooException {
+        Object[] ids = call(model, "create", () -> (Object[]) execute(model, "create", List.of(values), Map.of()));
+        return toIds(ids);
+    }
+
+    @Override
+    public void write(String model, List<Integer> ids, Map<String, Object> values) throws OdooException {
+        call(model, "write", () -> execute(model, "write", Arrays.asList(ids, values), Map.of()));
+    }
+
+    private Object[] searchReadRaw(String model, List<?> domain, Map<String, Object> kwargs) throws OdooException {
+        Object[] records = call(model, "search_read",
+                () -> (Object[]) execute(model, "search_read", List.of(domain), kwargs));
+        recordCount(model, "search_read", records.length);
+        return records;
+    }
+
+    private Object execute(String model, String method, List<?> args, Map<String, ?> kwargs)
+            throws XmlRpcException, OdooException {
+        try {
+            return odooXmlRpcClient.execute("execute_kw", Arrays.asList(
+                    odooProperties.getDb(), odooProperties.getUid(), odooProperties.getPassword(),
+                    model, method, args, kwargs
+            ));
+        } catch (XmlRpcException e) {
+            if (isFault(e)) {
+                // Odoo 가 돌려준 fault
+                throw new OdooException("Odoo error: " + e.getMessage(), e, true);
+            }
+            throw e; // 연결/HTTP 오류, 타임아웃. 다시 보내면 성공할 수 있다.
+        }
+    }
+
+    // Apache XML-RPC 는 연결 거부나 타임아웃 같은 I/O 오류도 code 0 인 XmlRpcException 으로 감싸서 던진다.
+    // Odoo 의 fault 응답만 code 가 0 이 아니고, 원인에 I/O 예외가 없다.
+    private static boolean isFault(XmlRpcException e) {
+        if (e instanceof XmlRpcClientException || e.code == 0) {
+            return false;
+        }
+        for (Throwable cause = e.getCause(); cause != null && cause != cause.getCause(); cause = cause.getCause()) {
+            if (cause instanceof IOException || cause instanceof HttpException) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<Integer> toIds(Object[] ids) {
+        List<Integer> result = new ArrayList<>(ids.length);
+        for (Object id : ids) {
+            result.add((Integer) id);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,142 @@
+package groupbee.attendance.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Odoo 없이 서비스를 띄우거나 트랜스포트를 비교하기 위한 로컬 스텁 서버.
+ * /xmlrpc/2/object 와 /jsonrpc 두 엔드포인트가 같은 데이터를 공유한다. 인증 정보는 검사하지 않는다.
+ *
+ * ./gradlew runOdooStub -PstubArgs="--port=8069 --employees=100 --records=100000 --latency-ms=5"
+ * 실행 후 ODOO_URL=http://localhost:8069 ODOO_TRANSPORT=jsonrpc 로 서비스를 띄운다.
+ */
+public class OdooStubServer implements AutoCloseable {
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final OdooStubStore store;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final long latencyMillis;
+
+    public OdooStubServer(int port, int employees, int records, long latencyMillis) throws IOException {
+        this.store = new OdooStubStore(employees, records);
+        this.latencyMillis = latencyMillis;
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "odoo-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/xmlrpc/2/object", this::handleXmlRpc);
+        server.createContext("/jsonrpc", this::handleJsonRpc);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + getPort();
+    }
+
+    public OdooStubStore getStore() {
+        return store;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handleXmlRpc(HttpExchange exchange) throws IOException {
+        String body;
+        try (InputStream in = exchange.getRequestBody()) {
+            XmlRpcCodec.MethodCall call = XmlRpcCodec.parse(in);
+            body = XmlRpcCodec.response(dispatch(call.methodName(), call.params()));
+        } catch (Exception e) {
+            body = XmlRpcCodec.fault(1, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+        respond(exchange, "text/xml", body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void handleJsonRpc(HttpExchange exchange) throws IOException {
+        Map<String, Object> envelope = new LinkedHashMap<>();
+        envelope.put("jsonrpc", "2.0");
+        try (InputStream in = exchange.getRequestBody()) {
+            JsonNode request = objectMapper.readTree(in);
+            envelope.put("id", objectMapper.treeToValue(request.get("id"), Object.class));
+            JsonNode params = request.path("params");
+            List<Object> args = objectMapper.convertValue(params.path("args"), List.class);
+            envelope.put("result", dispatch(params.path("method").asText(), args));
+        } catch (Exception e) {
+            // Odoo 의 JSON-RPC 오류 형식
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("name", e.getClass().getName());
+            data.put("message", e.getMessage());
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("code", 200);
+            error.put("message", "Odoo Server Error");
+            error.put("data", data);
+            envelope.remove("result");
+            envelope.put("error", error);
+        }
+        respond(exchange, "application/json", objectMapper.writeValueAsBytes(envelope));
+    }
+
+    // execute_kw(db, uid, password, model, method, args, kwargs)
+    @SuppressWarnings("unchecked")
+    private Object dispatch(String method, List<Object> params) throws InterruptedException {
+        if (!"execute_kw".equals(method)) {
+            throw new IllegalArgumentException("Unsupported method: " + method);
+        }
+        if (latencyMillis > 0) {
+            Thread.sleep(latencyMillis);
+        }
+        String model = (String) params.get(3);
+        String modelMethod = (String) params.get(4);
+        List<?> args = params.size() > 5 ? (List<?>) params.get(5) : List.of();
+        Map<String, ?> kwargs = params.size() > 6 ? (Map<String, ?>) params.get(6) : Map.of();
+        return store.executeKw(model, modelMethod, args, kwargs);
+    }
+
+    private void respond(HttpExchange exchange, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        int port = Integer.parseInt(options.getOrDefault("port", "8069"));
+        int employees = Integer.parseInt(options.getOrDefault("employees", "50"));
+        int records = Integer.parseInt(options.getOrDefault("records", "10000"));
+        long latency = Long.parseLong(options.getOrDefault("latency-ms", "0"));
+
+        OdooStubServer stub = new OdooStubServer(port, employees, records, latency);
+        System.out.printf("Odoo stub listening on %s (employees=%d, attendance=%d, latency=%dms)%n",
+                stub.getUrl(), employees, records, latency);
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::close));
+        Thread.currentThread().join();
+    }
+}
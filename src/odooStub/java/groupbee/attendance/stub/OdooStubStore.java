@@ -0,0 +1,379 @@
+package groupbee.attendance.stub;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * 스텁 서버가 들고 있는 hr.employee / hr.attendance 데이터와 execute_kw 처리.
+ * 서비스가 실제로 보내는 도메인 연산자와 search_read, search, read_group, create, write 만 흉내 낸다.
+ */
+public class OdooStubStore {
+    static final String ATTENDANCE_MODEL = "hr.attendance";
+    static final String EMPLOYEE_MODEL = "hr.employee";
+    private static final DateTimeFormatter ODOO_DATETIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int DEPARTMENT_COUNT = 5;
+
+    private final Map<String, TreeMap<Integer, Map<String, Object>>> tables = new LinkedHashMap<>();
+    private final Map<String, Integer> sequences = new LinkedHashMap<>();
+
+    public OdooStubStore(int employeeCount, int attendanceCount) {
+        tables.put(EMPLOYEE_MODEL, new TreeMap<>());
+        tables.put(ATTENDANCE_MODEL, new TreeMap<>());
+        seed(employeeCount, attendanceCount);
+    }
+
+    // 직원마다 오늘부터 하루씩 거슬러 올라가며 09시(KST) 전후 출근, 9시간 근무 기록을 만든다.
+    private void seed(int employeeCount, int attendanceCount) {
+        Random random = new Random(42);
+        for (int i = 1; i <= employeeCount; i++) {
+            Map<String, Object> employee = new LinkedHashMap<>();
+            employee.put("name", "Employee " + i);
+            employee.put("department_id", (i % DEPARTMENT_COUNT) + 1);
+            insert(EMPLOYEE_MODEL, employee);
+        }
+        if (employeeCount == 0) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < attendanceCount; i++) {
+            int employeeId = (i % employeeCount) + 1;
+            int daysAgo = attendanceCount - 1 - i;
+            daysAgo /= employeeCount;
+            LocalDateTime checkIn = today.minusDays(daysAgo).atStartOfDay().plusMinutes(random.nextInt(60));
+            Map<String, Object> attendance = new LinkedHashMap<>();
+            attendance.put("employee_id", employeeId);
+            attendance.put("check_in", checkIn.format(ODOO_DATETIME));
+            // 가장 최근 기록 일부는 퇴근 전 상태로 둔다.
+            if (daysAgo > 0 || employeeId % 3 != 0) {
+                attendance.put("check_out", checkIn.plusHours(9).plusMinutes(random.nextInt(30)).format(ODOO_DATETIME));
+            }
+            insert(ATTENDANCE_MODEL, attendance);
+        }
+    }
+
+    public synchronized Object executeKw(String model, String method, List<?> args, Map<String, ?> kwargs) {
+        TreeMap<Integer, Map<String, Object>> table = table(model);
+        Map<String, ?> options = kwargs != null ? kwargs : Map.of();
+        return switch (method) {
+            case "search_read" -> searchRead(table, argument(args, 0), options);
+            case "search" -> {
+                List<Integer> ids = new ArrayList<>();
+                for (Map<String, Object> record : find(table, argument(args, 0), options)) {
+                    ids.add((Integer) record.get("id"));
+                }
+                yield ids;
+            }
+            case "read_group" -> readGroup(table, argument(args, 0), argument(args, 1), argument(args, 2), options);
+            case "create" -> create(model, args.get(0));
+            case "write" -> write(table, (List<?>) args.get(0), (Map<?, ?>) args.get(1));
+            default -> throw new IllegalArgumentException("Unsupported method: " + method);
+        };
+    }
+
+    private TreeMap<Integer, Map<String, Object>> table(String model) {
+        TreeMap<Integer, Map<String, Object>> table = tables.get(model);
+        if (table == null) {
+            throw new IllegalArgumentException("Object " + model + " doesn't exist");
+        }
+        return table;
+    }
+
+    private List<?> argument(List<?> args, int index) {
+        return args.size() > index ? (List<?>) args.get(index) : List.of();
+    }
+
+    private List<Map<String, Object>> searchRead(TreeMap<Integer, Map<String, Object>> table, List<?> domain,
+                                                 Map<String, ?> options) {
+        List<?> fields = (List<?>) options.get("fields");
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Map<String, Object> record : find(table, domain, options)) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", record.get("id"));
+            Collection<?> names = fields != null && !fields.isEmpty() ? fields : record.keySet();
+            for (Object name : names) {
+                row.put((String) name, present((String) name, record.get(name)));
+            }
+            result.add(row);
+        }
+        return result;
+    }
+
+    // lazy=false 만 지원한다. groupby 는 "check_in:day" 같은 날짜 구간 또는 일반 필드이고, 집계는 sum 과 max.
+    private List<Map<String, Object>> readGroup(TreeMap<Integer, Map<String, Object>> table, List<?> domain,
+                                                List<?> fields, List<?> groupBy, Map<String, ?> options) {
+        Object context = options.get("context");
+        ZoneId zone = context instanceof Map<?, ?> map && map.get("tz") instanceof String tz ? ZoneId.of(tz) : ZoneOffset.UTC;
+
+        Map<List<Object>, Map<String, Object>> groups = new TreeMap<>(this::compareKeys);
+        for (Map<String, Object> record : find(table, domain, Map.of())) {
+            List<Object> key = new ArrayList<>();
+            List<Object> groupDomain = new ArrayList<>();
+            for (Object spec : groupBy) {
+                String[] parts = spec.toString().split(":", 2);
+                Object value = record.get(parts[0]);
+                if (parts.length == 2 && value != null) {
+                    LocalDate start = truncate(LocalDateTime.parse(value.toString(), ODOO_DATETIME)
+                            .atOffset(ZoneOffset.UTC).atZoneSameInstant(zone).toLocalDate(), parts[1]);
+                    LocalDate end = next(start, parts[1]);
+                    key.add(start.toString());
+                    groupDomain.add(Arrays.asList(parts[0], ">=", toUtc(start, zone)));
+                    groupDomain.add(Arrays.asList(parts[0], "<", toUtc(end, zone)));
+                } else {
+                    key.add(value);
+                    groupDomain.add(Arrays.asList(parts[0], "=", value != null ? value : Boolean.FALSE));
+                }
+            }
+            Map<String, Object> group = groups.computeIfAbsent(key, k -> {
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (int i = 0; i < groupBy.size(); i++) {
+                    String spec = groupBy.get(i).toString();
+                    row.put(spec, present(spec.split(":", 2)[0], k.get(i)));
+                }
+                row.put("__count", 0);
+                List<Object> fullDomain = new ArrayList<>(groupDomain);
+                fullDomain.addAll(domain);
+                row.put("__domain", fullDomain);
+                return row;
+            });
+            group.merge("__count", 1, (a, b) -> (Integer) a + (Integer) b);
+            for (Object spec : fields) {
+                String[] parts = spec.toString().split(":", 2);
+                if (parts.length == 2 && parts[1].equals("sum") && record.get(parts[0]) instanceof Number number) {
+                    group.merge(parts[0], number.doubleValue(), (a, b) -> (Double) a + (Double) b);
+                } else if (parts.length == 2 && parts[1].equals("max") && record.get(parts[0]) != null) {
+                    group.merge(parts[0], record.get(parts[0]), (a, b) -> compare(a, b) >= 0 ? a : b);
+                }
+            }
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    private int compareKeys(List<Object> a, List<Object> b) {
+        for (int i = 0; i < a.size(); i++) {
+            int result = compare(a.get(i), b.get(i));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private LocalDate truncate(LocalDate date, String interval) {
+        return switch (interval) {
+            case "day" -> date;
+            case "week" -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case "month" -> date.withDayOfMonth(1);
+            case "year" -> date.withDayOfYear(1);
+            default -> throw new IllegalArgumentException("Unsupported interval: " + interval);
+        };
+    }
+
+    private LocalDate next(LocalDate start, String interval) {
+        return switch (interval) {
+            case "day" -> start.plusDays(1);
+            case "week" -> start.plusWeeks(1);
+            case "month" -> start.plusMonths(1);
+            default -> start.plusYears(1);
+        };
+    }
+
+    private String toUtc(LocalDate date, ZoneId zone) {
+        return date.atStartOfDay(zone).withZoneSameInstant(ZoneOffset.UTC).format(ODOO_DATETIME);
+    }
+
+    private List<Map<String, Object>> find(TreeMap<Integer, Map<String, Object>> table, List<?> domain,
+                                           Map<String, ?> options) {
+        List<Map<String, Object>> matched = new ArrayList<>();
+        for (Map<String, Object> record : table.values()) {
+            if (matches(record, domain)) {
+                matched.add(record);
+            }
+        }
+        Object order = options.get("order");
+        matched.sort(order != null ? comparator((String) order) : Comparator.comparing(r -> (Integer) r.get("id")));
+
+        int offset = options.get("offset") != null ? ((Number) options.get("offset")).intValue() : 0;
+        int limit = options.get("limit") != null ? ((Number) options.get("limit")).intValue() : Integer.MAX_VALUE;
+        int from = Math.min(offset, matched.size());
+        int to = (int) Math.min((long) from + limit, matched.size());
+        return matched.subList(from, to);
+    }
+
+    // "check_in desc, id desc" 형식
+    private Comparator<Map<String, Object>> comparator(String order) {
+        Comparator<Map<String, Object>> result = null;
+        for (String term : order.split(",")) {
+            String[] parts = term.trim().split("\\s+");
+            String field = parts[0];
+            Comparator<Map<String, Object>> next = (a, b) -> compare(a.get(field), b.get(field));
+            if (parts.length > 1 && parts[1].equalsIgnoreCase("desc")) {
+                next = next.reversed();
+            }
+            result = result == null ? next : result.thenComparing(next);
+        }
+        return result;
+    }
+
+    // 접두사 표기 도메인: 연산자 '&', '|' 는 이항, '!' 는 단항이고 나머지 조건은 암묵적으로 '&' 로 묶인다.
+    private boolean matches(Map<String, Object> record, List<?> domain) {
+        int[] position = {0};
+        boolean result = true;
+        while (position[0] < domain.size()) {
+            result &= evaluate(record, domain, position);
+        }
+        return result;
+    }
+
+    private boolean evaluate(Map<String, Object> record, List<?> domain, int[] position) {
+        Object term = domain.get(position[0]++);
+        if ("&".equals(term)) {
+            boolean left = evaluate(record, domain, position);
+            return evaluate(record, domain, position) && left;
+        }
+        if ("|".equals(term)) {
+            boolean left = evaluate(record, domain, position);
+            return evaluate(record, domain, position) || left;
+        }
+        if ("!".equals(term)) {
+            return !evaluate(record, domain, position);
+        }
+        List<?> leaf = (List<?>) term;
+        return test(record.get((String) leaf.get(0)), (String) leaf.get(1), leaf.get(2));
+    }
+
+    private boolean test(Object actual, String operator, Object expected) {
+        return switch (operator) {
+            case "=" -> equal(actual, expected);
+            case "!=" -> !equal(actual, expected);
+            case "<" -> actual != null && compare(actual, expected) < 0;
+            case "<=" -> actual != null && compare(actual, expected) <= 0;
+            case ">" -> actual != null && compare(actual, expected) > 0;
+            case ">=" -> actual != null && compare(actual, expected) >= 0;
+            case "in" -> contains((Collection<?>) expected, actual);
+            case "not in" -> !contains((Collection<?>) expected, actual);
+            default -> throw new IllegalArgumentException("Unsupported operator: " + operator);
+        };
+    }
+
+    private boolean equal(Object actual, Object expected) {
+        if (Boolean.FALSE.equals(expected)) {
+            return actual == null;
+        }
+        return actual != null && compare(actual, expected) == 0;
+    }
+
+    private boolean contains(Collection<?> values, Object actual) {
+        for (Object value : values) {
+            if (equal(actual, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private int compare(Object a, Object b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        if (a instanceof Number x && b instanceof Number y) {
+            return Double.compare(x.doubleValue(), y.doubleValue());
+        }
+        // Odoo 날짜 문자열은 사전순 비교가 곧 시간순 비교다.
+        return ((Comparable) a.toString()).compareTo(b.toString());
+    }
+
+    private Object create(String model, Object values) {
+        if (values instanceof List<?> list) {
+            List<Integer> ids = new ArrayList<>();
+            for (Object item : list) {
+                ids.add(insert(model, copy((Map<?, ?>) item)));
+            }
+            return ids;
+        }
+        return insert(model, copy((Map<?, ?>) values));
+    }
+
+    private Boolean write(TreeMap<Integer, Map<String, Object>> table, List<?> ids, Map<?, ?> values) {
+        for (Object id : ids) {
+            if (!table.containsKey(((Number) id).intValue())) {
+                throw new IllegalArgumentException("Record does not exist or has been deleted: " + id);
+            }
+        }
+        for (Object id : ids) {
+            Map<String, Object> record = table.get(((Number) id).intValue());
+            record.putAll(copy(values));
+            updateWorkedHours(record);
+            record.put("write_date", now());
+        }
+        return Boolean.TRUE;
+    }
+
+    private int insert(String model, Map<String, Object> values) {
+        int id = sequences.merge(model, 1, Integer::sum);
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("id", id);
+        record.putAll(values);
+        record.put("write_date", now());
+        if (ATTENDANCE_MODEL.equals(model)) {
+            updateWorkedHours(record);
+        }
+        tables.get(model).put(id, record);
+        return id;
+    }
+
+    private String now() {
+        return LocalDateTime.now(ZoneOffset.UTC).format(ODOO_DATETIME);
+    }
+
+    private Map<String, Object> copy(Map<?, ?> values) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        values.forEach((key, value) -> result.put((String) key, Boolean.FALSE.equals(value) ? null : value));
+        return result;
+    }
+
+    private void updateWorkedHours(Map<String, Object> record) {
+        Object checkIn = record.get("check_in");
+        Object checkOut = record.get("check_out");
+        double hours = 0.0;
+        if (checkIn != null && checkOut != null) {
+            Duration worked = Duration.between(
+                    LocalDateTime.parse(checkIn.toString(), ODOO_DATETIME),
+                    LocalDateTime.parse(checkOut.toString(), ODOO_DATETIME));
+            hours = worked.getSeconds() / 3600.0;
+        }
+        record.put("worked_hours", hours);
+    }
+
+    // 빈 값은 false, many2one 은 [id, "이름"] 으로 내보낸다.
+    private Object present(String field, Object value) {
+        if (value == null) {
+            return Boolean.FALSE;
+        }
+        return switch (field) {
+            case "employee_id" -> Arrays.asList(value, "Employee " + value);
+            case "department_id" -> Arrays.asList(value, "Department " + value);
+            default -> value;
+        };
+    }
+
+    public synchronized int count(String model) {
+        return Objects.requireNonNull(tables.get(model)).size();
+    }
+}
@@ -0,0 +1,146 @@
+package groupbee.attendance.stub;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 스텁에 필요한 만큼의 XML-RPC 요청 파싱과 응답 생성.
+ */
+final class XmlRpcCodec {
+
+    record MethodCall(String methodName, List<Object> params) {
+    }
+
+    private XmlRpcCodec() {
+    }
+
+    static MethodCall parse(InputStream body) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        Document document = factory.newDocumentBuilder().parse(body);
+
+        Element root = document.getDocumentElement();
+        String methodName = child(root, "methodName").getTextContent().trim();
+        List<Object> params = new ArrayList<>();
+        Element paramsElement = child(root, "params");
+        if (paramsElement != null) {
+            for (Element param : children(paramsElement)) {
+                params.add(decodeValue(child(param, "value")));
+            }
+        }
+        return new MethodCall(methodName, params);
+    }
+
+    private static Object decodeValue(Element value) {
+        List<Element> typed = children(value);
+        if (typed.isEmpty()) {
+            return value.getTextContent(); // 타입이 없으면 string
+        }
+        Element element = typed.get(0);
+        String text = element.getTextContent();
+        return switch (element.getTagName()) {
+            case "int", "i4" -> Integer.parseInt(text.trim());
+            case "i8" -> Long.parseLong(text.trim());
+            case "boolean" -> "1".equals(text.trim());
+            case "double" -> Double.parseDouble(text.trim());
+            case "nil" -> null;
+            case "array" -> {
+                List<Object> items = new ArrayList<>();
+                Element data = child(element, "data");
+                if (data != null) {
+                    for (Element item : children(data)) {
+                        items.add(decodeValue(item));
+                    }
+                }
+                yield items;
+            }
+            case "struct" -> {
+                Map<String, Object> members = new LinkedHashMap<>();
+                for (Element member : children(element)) {
+                    members.put(child(member, "name").getTextContent(), decodeValue(child(member, "value")));
+                }
+                yield members;
+            }
+            default -> text; // string, dateTime.iso8601, base64
+        };
+    }
+
+    static String response(Object result) {
+        StringBuilder xml = new StringBuilder(256);
+        xml.append("<?xml version=\"1.0\"?><methodResponse><params><param>");
+        encodeValue(xml, result);
+        xml.append("</param></params></methodResponse>");
+        return xml.toString();
+    }
+
+    static String fault(int code, String message) {
+        StringBuilder xml = new StringBuilder(256);
+        xml.append("<?xml version=\"1.0\"?><methodResponse><fault>");
+        encodeValue(xml, Map.of("faultCode", code, "faultString", message));
+        xml.append("</fault></methodResponse>");
+        return xml.toString();
+    }
+
+    private static void encodeValue(StringBuilder xml, Object value) {
+        xml.append("<value>");
+        if (value == null) {
+            xml.append("<boolean>0</boolean>"); // Odoo 는 None 대신 False 를 보낸다.
+        } else if (value instanceof Integer) {
+            xml.append("<int>").append(value).append("</int>");
+        } else if (value instanceof Boolean flag) {
+            xml.append("<boolean>").append(flag ? 1 : 0).append("</boolean>");
+        } else if (value instanceof Number number) {
+            xml.append("<double>").append(number.doubleValue()).append("</double>");
+        } else if (value instanceof List<?> list) {
+            xml.append("<array><data>");
+            for (Object item : list) {
+                encodeValue(xml, item);
+            }
+            xml.append("</data></array>");
+        } else if (value instanceof Map<?, ?> map) {
+            xml.append("<struct>");
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                xml.append("<member><name>").append(escape(entry.getKey().toString())).append("</name>");
+                encodeValue(xml, entry.getValue());
+                xml.append("</member>");
+            }
+            xml.append("</struct>");
+        } else {
+            xml.append("<string>").append(escape(value.toString())).append("</string>");
+        }
+        xml.append("</value>");
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static Element child(Element parent, String name) {
+        for (Element element : children(parent)) {
+            if (element.getTagName().equals(name)) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    private static List<Element> children(Element parent) {
+        List<Element> result = new ArrayList<>();
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element element) {
+                result.add(element);
+            }
+        }
+        return result;
+    }
+}
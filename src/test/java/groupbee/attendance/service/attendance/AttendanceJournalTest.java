@@ -0,0 +1,136 @@
+package groupbee.attendance.service.attendance;
+
+import groupbee.attendance.config.JournalProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttendanceJournalTest {
+    @TempDir
+    Path directory;
+
+    private AttendanceJournal journal;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void recoverTruncatesTornTailAndKeepsLaterAppends() throws Exception {
+        journal = open();
+        journal.append(AttendanceJournal.Type.CHECK_IN, 1, "2024-09-01 00:00:00");
+        journal.append(AttendanceJournal.Type.CHECK_OUT, 1, "2024-09-01 09:00:00");
+        journal.close();
+
+        // 헤더는 50 바이트짜리 본문을 가리키지만 몇 바이트만 쓰고 멈춘 레코드
+        Path segment = singleSegment();
+        long validSize = Files.size(segment);
+        appendBytes(segment, ByteBuffer.allocate(12).putInt(50).putInt(0).putInt(7).flip());
+
+        journal = open();
+        assertThat(Files.size(segment)).isEqualTo(validSize);
+        assertThat(drain()).extracting(AttendanceJournal.Entry::sequence).containsExactly(1L, 2L);
+
+        // 잘라 낸 뒤에 쓴 레코드는 다음 복구 때도 남아 있어야 한다.
+        journal.append(AttendanceJournal.Type.CHECK_IN, 2, "2024-09-01 01:00:00");
+        journal.close();
+
+        journal = open();
+        List<AttendanceJournal.Entry> recovered = drain();
+        assertThat(recovered).extracting(AttendanceJournal.Entry::sequence).containsExactly(1L, 2L, 3L);
+        assertThat(recovered.get(2).employeeId()).isEqualTo(2);
+        assertThat(recovered.get(2).utcTime()).isEqualTo("2024-09-01 01:00:00");
+    }
+
+    @Test
+    void recoverTruncatesCorruptRecord() throws Exception {
+        journal = open();
+        journal.append(AttendanceJournal.Type.CHECK_IN, 1, "2024-09-01 00:00:00");
+        journal.append(AttendanceJournal.Type.CHECK_IN, 1, "2024-09-02 00:00:00");
+        journal.close();
+
+        // 두 레코드는 길이가 같다. 두 번째 레코드 본문의 마지막 바이트를 바꿔 CRC 가 맞지 않게 한다.
+        Path segment = singleSegment();
+        long firstRecordEnd = Files.size(segment) / 2;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long last = channel.size() - 1;
+            ByteBuffer buffer = ByteBuffer.allocate(1);
+            channel.read(buffer, last);
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) (buffer.get(0) ^ 0xFF)}), last);
+        }
+
+        journal = open();
+        assertThat(Files.size(segment)).isEqualTo(firstRecordEnd);
+        assertThat(drain()).extracting(AttendanceJournal.Entry::sequence).containsExactly(1L);
+    }
+
+    @Test
+    void completedEntriesAreNotReplayedAfterRestart() throws Exception {
+        journal = open();
+        journal.append(AttendanceJournal.Type.CHECK_IN, 1, "2024-09-01 00:00:00");
+        journal.append(AttendanceJournal.Type.CHECK_OUT, 1, "2024-09-01 09:00:00");
+        journal.append(AttendanceJournal.Type.CHECK_IN, 3, "2024-09-01 02:00:00");
+        journal.complete(journal.next(1, TimeUnit.SECONDS));
+        journal.deadLetter(journal.next(1, TimeUnit.SECONDS), "rejected");
+        journal.close();
+
+        journal = open();
+        List<AttendanceJournal.Entry> recovered = drain();
+        assertThat(recovered).extracting(AttendanceJournal.Entry::sequence).containsExactly(3L);
+        assertThat(recovered.get(0).type()).isEqualTo(AttendanceJournal.Type.CHECK_IN);
+        assertThat(recovered.get(0).employeeId()).isEqualTo(3);
+        assertThat(Files.readString(directory.resolve("dead-letter.log"))).contains("CHECK_OUT", "rejected");
+
+        // 순번은 checkpoint 뒤에서 이어진다.
+        assertThat(journal.append(AttendanceJournal.Type.CHECK_OUT, 3, "2024-09-01 10:00:00").sequence()).isEqualTo(4L);
+    }
+
+    private AttendanceJournal open() throws IOException {
+        JournalProperties properties = new JournalProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        AttendanceJournal opened = new AttendanceJournal(properties, new SimpleMeterRegistry());
+        opened.open();
+        return opened;
+    }
+
+    private List<AttendanceJournal.Entry> drain() throws Exception {
+        List<AttendanceJournal.Entry> entries = new ArrayList<>();
+        AttendanceJournal.Entry entry;
+        while ((entry = journal.next(10, TimeUnit.MILLISECONDS)) != null) {
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    private Path singleSegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = files.filter(path -> path.getFileName().toString().startsWith("segment-")).toList();
+            assertThat(segments).hasSize(1);
+            return segments.get(0);
+        }
+    }
+
+    private void appendBytes(Path file, ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(bytes);
+        }
+    }
+}